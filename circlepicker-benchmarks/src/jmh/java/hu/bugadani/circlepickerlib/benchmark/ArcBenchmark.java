@@ -0,0 +1,95 @@
+package hu.bugadani.circlepickerlib.benchmark;
+
+import com.biowink.clue.BezierArc;
+import com.biowink.clue.PathSink;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the Bézier approximation of the wheel arcs, the same way {@code ArcUtils} does it for a
+ * {@code Path}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArcBenchmark {
+
+    /**
+     * Collects the segments instead of drawing them, so the result can't be optimized away.
+     */
+    static final class CountingPathSink implements PathSink {
+
+        int mSegments;
+        float mChecksum;
+
+        @Override
+        public void moveTo(float x, float y) {
+            mChecksum += x + y;
+        }
+
+        @Override
+        public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+            mSegments++;
+            mChecksum += x3 + y3;
+        }
+
+        void reset() {
+            mSegments = 0;
+            mChecksum = 0;
+        }
+    }
+
+    /**
+     * Number of parts of a whole circle, 0 doesn't split the arc
+     */
+    @Param({"0", "4", "36", "360"})
+    public int pointsOnCircle;
+
+    @Param({"true", "false"})
+    public boolean overlapPoints;
+
+    /**
+     * Sweep angle of the arc in degrees
+     */
+    @Param({"30", "270", "1080"})
+    public double sweep;
+
+    private final CountingPathSink mSink = new CountingPathSink();
+    private final float[] mPoints = new float[BezierArc.ARC_POINTS_SIZE];
+    private double mSweepRadians;
+    private double mStartAngle;
+
+    @Setup
+    public void setup() {
+        mSweepRadians = Math.toRadians(sweep);
+    }
+
+    @Benchmark
+    public float appendArc() {
+        mSink.reset();
+        //Move the start angle a bit in every invocation, like a dragged wheel does
+        mStartAngle += 0.01;
+        if (mStartAngle > 2 * Math.PI) {
+            mStartAngle -= 2 * Math.PI;
+        }
+        BezierArc.appendBezierArcRadians(200f, 200f, 150f, mStartAngle, mSweepRadians,
+                pointsOnCircle, overlapPoints, mSink, mPoints);
+        return mSink.mChecksum + mSink.mSegments;
+    }
+
+    @Benchmark
+    public float addSingleSegment() {
+        mSink.reset();
+        BezierArc.addBezierArcToPath(mSink, 200f, 200f, 350f, 200f, 200f, 350f, true);
+        return mSink.mChecksum;
+    }
+}
@@ -0,0 +1,102 @@
+package hu.bugadani.circlepickerlib.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import hu.bugadani.circlepickerlib.angle.ExactAngleSolver;
+import hu.bugadani.circlepickerlib.angle.FastAngleSolver;
+import hu.bugadani.circlepickerlib.core.PickerEngine;
+
+/**
+ * Measures feeding a recorded-like drag gesture through the {@link PickerEngine}. The score is per touch sample.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DragBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    /**
+     * Number of samples batched into a single frame, like the per frame dispatch mode of the view does
+     */
+    private static final int SAMPLES_PER_FRAME = 4;
+
+    private static final float WHEEL_RADIUS = 150f;
+
+    @Param({"fast", "exact"})
+    public String solver;
+
+    /**
+     * Value per step, the value per cycle is 100
+     */
+    @Param({"1", "0.1"})
+    public float step;
+
+    private final float[] mX = new float[SAMPLES];
+    private final float[] mY = new float[SAMPLES];
+    private PickerEngine mEngine;
+
+    @Setup
+    public void setup() {
+        mEngine = new PickerEngine();
+        mEngine.setWheelRadius(WHEEL_RADIUS);
+        mEngine.setStep(step);
+        mEngine.setMinValue(-Float.MAX_VALUE);
+        mEngine.setMaxValue(Float.MAX_VALUE);
+        mEngine.setCycleValue(100);
+        mEngine.setHysteresis(0.5);
+        if ("exact".equals(solver)) {
+            mEngine.setAngleSolver(new ExactAngleSolver());
+        } else {
+            mEngine.setAngleSolver(new FastAngleSolver());
+        }
+
+        //Three turns forwards and one backwards on a slightly jittery circle
+        final Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            final double progress = (double) i / SAMPLES;
+            final double turns = progress < 0.75 ? progress * 4 : 3 - (progress - 0.75) * 4;
+            final double angle = turns * 2 * Math.PI;
+            final double radius = WHEEL_RADIUS + random.nextGaussian() * 5;
+            mX[i] = (float) (radius * Math.cos(angle));
+            mY[i] = (float) (radius * Math.sin(angle));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public double perEvent() {
+        mEngine.setValue(0);
+        mEngine.handleTouch(mX[0], mY[0]);
+        for (int i = 1; i < SAMPLES; i++) {
+            mEngine.handleDrag(mX[i], mY[i]);
+        }
+        return mEngine.getValue();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public double perFrame() {
+        mEngine.setValue(0);
+        mEngine.handleTouch(mX[0], mY[0]);
+        for (int i = 1; i < SAMPLES; i++) {
+            mEngine.trackDrag(mX[i], mY[i]);
+            if (i % SAMPLES_PER_FRAME == 0) {
+                mEngine.resolveDrag();
+            }
+        }
+        mEngine.resolveDrag();
+        return mEngine.getValue();
+    }
+}
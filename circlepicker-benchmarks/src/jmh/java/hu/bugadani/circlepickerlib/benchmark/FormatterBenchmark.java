@@ -0,0 +1,59 @@
+package hu.bugadani.circlepickerlib.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import hu.bugadani.circlepickerlib.formatter.SimpleValueFormatter;
+
+/**
+ * Measures formatting the displayed value. The last pattern can't be compiled, so it shows the cost of the
+ * {@code String.format} fallback.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatterBenchmark {
+
+    @Param({"%.0f", "%.1f", "%.3f°", "%.2f%%", "%+,.1f"})
+    public String pattern;
+
+    private final StringBuilder mBuilder = new StringBuilder(32);
+    private SimpleValueFormatter mFormatter;
+    private double mValue;
+
+    @Setup
+    public void setup() {
+        mFormatter = new SimpleValueFormatter(pattern);
+    }
+
+    /**
+     * Returns the next value, changing every invocation like a dragged wheel does
+     */
+    private double nextValue() {
+        mValue += 0.1;
+        if (mValue > 1000) {
+            mValue = -1000;
+        }
+        return mValue;
+    }
+
+    @Benchmark
+    public String format() {
+        return mFormatter.format(nextValue());
+    }
+
+    @Benchmark
+    public int formatTo() {
+        mBuilder.setLength(0);
+        mFormatter.formatTo(nextValue(), mBuilder);
+        return mBuilder.length();
+    }
+}
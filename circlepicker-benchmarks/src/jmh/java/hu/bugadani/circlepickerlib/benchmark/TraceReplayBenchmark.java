@@ -0,0 +1,87 @@
+package hu.bugadani.circlepickerlib.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import hu.bugadani.circlepickerlib.core.PickerEngine;
+import hu.bugadani.circlepickerlib.trace.TouchTrace;
+import hu.bugadani.circlepickerlib.trace.TouchTraceReplayer;
+
+/**
+ * Replays a recorded touch trace, see {@code CirclePickerView#setTouchTraceRecorder}. Pass the trace file with
+ * {@code -p trace=<path>}; without it a synthetic drag is replayed. The score is per replay.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TraceReplayBenchmark {
+
+    @Param({""})
+    public String trace;
+
+    /**
+     * Value per step, the value per cycle is 100
+     */
+    @Param({"1"})
+    public float step;
+
+    private TouchTrace mTrace;
+    private TouchTraceReplayer mReplayer;
+
+    @Setup
+    public void setup() throws IOException {
+        if (trace.isEmpty()) {
+            mTrace = createSyntheticTrace();
+        } else {
+            final InputStream in = new FileInputStream(trace);
+            try {
+                mTrace = TouchTrace.readFrom(in);
+            } finally {
+                in.close();
+            }
+        }
+
+        mReplayer = new TouchTraceReplayer();
+        final PickerEngine engine = mReplayer.getEngine();
+        engine.setMinValue(-Float.MAX_VALUE);
+        engine.setMaxValue(Float.MAX_VALUE);
+        engine.setStep(step);
+        engine.setCycleValue(100);
+    }
+
+    private static TouchTrace createSyntheticTrace() {
+        final int events = 1000;
+        final float radius = 150f;
+        final TouchTrace.Recorder recorder = new TouchTrace.Recorder();
+        recorder.setWheelRadius(radius);
+        for (int i = 0; i < events; i++) {
+            final int action;
+            if (i == 0) {
+                action = TouchTrace.ACTION_DOWN;
+            } else if (i == events - 1) {
+                action = TouchTrace.ACTION_UP;
+            } else {
+                action = TouchTrace.ACTION_MOVE;
+            }
+            final double angle = 6 * Math.PI * i / events;
+            recorder.record(i * 8, action, (float) (radius * Math.sin(angle)), (float) (-radius * Math.cos(angle)));
+        }
+        return recorder.toTrace();
+    }
+
+    @Benchmark
+    public int replay() {
+        return mReplayer.replay(mTrace).getListenerInvocations();
+    }
+}
@@ -0,0 +1,379 @@
+/**
+ * BezierArc.java, the geometry of ArcUtils.java
+ * <p/>
+ * Copyright (c) 2014 BioWink GmbH.
+ * <p/>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p/>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p/>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ **/
+
+package com.biowink.clue;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static java.lang.Math.abs;
+import static java.lang.Math.ceil;
+import static java.lang.Math.cos;
+import static java.lang.Math.floor;
+import static java.lang.Math.sin;
+import static java.lang.Math.sqrt;
+import static java.lang.Math.toRadians;
+
+/**
+ * The geometry behind {@code ArcUtils}: approximates circular arcs with cubic Bézier curves and adds them to a
+ * {@link PathSink}. It doesn't depend on Android, so it can be benchmarked and tested on a plain JVM.
+ */
+public final class BezierArc
+{
+
+    private static final double FULL_CIRCLE_RADIANS = toRadians(360d);
+
+    /**
+     * Minimum size of the scratch buffer required by the allocation-free methods: the coordinates of the start and
+     * the end point of the current arc segment.
+     */
+    public static final int ARC_POINTS_SIZE = 4;
+
+    /**
+     * The largest {@code pointsOnCircle} value for which precomputed unit circle segments are used.
+     */
+    public static final int MAX_TABLE_POINTS_ON_CIRCLE = 360;
+
+    /**
+     * Number of floats stored for each segment in a unit circle table: the starting point of the segment followed by
+     * the two control points of the cubic Bézier curve which ends at the starting point of the next segment.
+     */
+    private static final int TABLE_STRIDE = 6;
+
+    /**
+     * Tolerance (in segments) used to decide whether an angle lies on a segment boundary.
+     */
+    private static final double TABLE_EPSILON = 1e-9;
+
+    /**
+     * Lazily built unit circle tables, indexed by {@code pointsOnCircle}. Building all of them up front would take
+     * more than a megabyte, so they are built on first use and published through the atomic array, which makes the
+     * contents of a table visible to every thread that reads it.
+     */
+    private static final AtomicReferenceArray<float[]> sUnitArcTables =
+            new AtomicReferenceArray<float[]>(MAX_TABLE_POINTS_ON_CIRCLE + 1);
+
+    private BezierArc()
+    {
+    }
+
+    /**
+     * Normalize the input radians in the range 360° > x >= 0°.
+     *
+     * @param radians The angle to normalize (in radians).
+     * @return The angle normalized in the range 360° > x >= 0°.
+     */
+    public static double normalizeRadians(double radians)
+    {
+        radians %= FULL_CIRCLE_RADIANS;
+        if (radians < 0d) {
+            radians += FULL_CIRCLE_RADIANS;
+        }
+        if (radians == FULL_CIRCLE_RADIANS) {
+            radians = 0d;
+        }
+        return radians;
+    }
+
+    /**
+     * Computes the point of a given angle (in radians) on a circle and stores its coordinates in {@code out}.
+     *
+     * @param centerX      The X coordinate of the center of the circle.
+     * @param centerY      The Y coordinate of the center of the circle.
+     * @param radius       The radius of the circle.
+     * @param angleRadians The angle (in radians).
+     * @param out          The array to store the X and Y coordinates in.
+     * @param offset       Index of the X coordinate in {@code out}, the Y coordinate is stored after it.
+     */
+    public static void pointFromAngleRadians(float centerX, float centerY, float radius, double angleRadians,
+                                             float[] out, int offset)
+    {
+        out[offset] = (float) (centerX + radius * cos(angleRadians));
+        out[offset + 1] = (float) (centerY + radius * sin(angleRadians));
+    }
+
+    /**
+     * Adds a circular arc to the given path by approximating it through a cubic Bézier curve.
+     * <p/>
+     * Note that this <strong>does not</strong> split the arc to better approximate it, for that see
+     * {@link #appendBezierArcRadians(float, float, float, double, double, int, boolean, PathSink, float[])}.
+     * <p/>
+     * For a technical explanation:
+     * <a href="http://hansmuller-flex.blogspot.de/2011/10/more-about-approximating-circular-arcs.html">
+     * http://hansmuller-flex.blogspot.de/2011/10/more-about-approximating-circular-arcs.html
+     * </a>
+     *
+     * @param path        The path to add the arc to.
+     * @param centerX     The X coordinate of the center of the circle.
+     * @param centerY     The Y coordinate of the center of the circle.
+     * @param startX      The X coordinate of the starting point of the arc on the circle.
+     * @param startY      The Y coordinate of the starting point of the arc on the circle.
+     * @param endX        The X coordinate of the ending point of the arc on the circle.
+     * @param endY        The Y coordinate of the ending point of the arc on the circle.
+     * @param moveToStart If {@code true}, move to the starting point of the arc
+     *                    (see: {@link PathSink#moveTo(float, float)}).
+     */
+    public static void addBezierArcToPath(PathSink path, float centerX, float centerY,
+                                          float startX, float startY, float endX, float endY,
+                                          boolean moveToStart)
+    {
+        if (moveToStart) {
+            path.moveTo(startX, startY);
+        }
+        if (startX == endX && startY == endY) {
+            return;
+        }
+
+        final double ax = startX - centerX;
+        final double ay = startY - centerY;
+        final double bx = endX - centerX;
+        final double by = endY - centerY;
+        final double q1 = ax * ax + ay * ay;
+        final double q2 = q1 + ax * bx + ay * by;
+        final double k2 = 4d / 3d * (sqrt(2d * q1 * q2) - q2) / (ax * by - ay * bx);
+        final float  x2 = (float) (centerX + ax - k2 * ay);
+        final float  y2 = (float) (centerY + ay + k2 * ax);
+        final float  x3 = (float) (centerX + bx + k2 * by);
+        final float  y3 = (float) (centerY + by - k2 * bx);
+
+        path.cubicTo(x2, y2, x3, y3, endX, endY);
+    }
+
+    /**
+     * Appends the arc to {@code path}, splitting it if necessary, using {@code points[0..1]} as the start and
+     * {@code points[2..3]} as the end point of the current segment. See {@code ArcUtils.createBezierArcRadians} for
+     * the meaning of {@code pointsOnCircle} and {@code overlapPoints}.
+     *
+     * @param centerX           The X coordinate of the center of the circle.
+     * @param centerY           The Y coordinate of the center of the circle.
+     * @param radius            The radius of the circle.
+     * @param startAngleRadians The starting angle on the circle (in radians).
+     * @param sweepAngleRadians How long to make the total arc (in radians).
+     * @param pointsOnCircle    The number of parts of a whole circle, less than 1 doesn't split the arc.
+     * @param overlapPoints     If {@code true}, split on multiples of the threshold, otherwise split equally.
+     * @param path              The path to add the arc to.
+     * @param points            Scratch buffer of at least {@link #ARC_POINTS_SIZE} elements. For a non-zero sweep
+     *                          the last two elements hold the end point of the arc after returning.
+     */
+    public static void appendBezierArcRadians(float centerX, float centerY, float radius, double startAngleRadians,
+                                              double sweepAngleRadians, int pointsOnCircle, boolean overlapPoints,
+                                              PathSink path, float[] points)
+    {
+        if (sweepAngleRadians == 0d) {
+            return;
+        }
+
+        if (pointsOnCircle >= 1) {
+            final double threshold = FULL_CIRCLE_RADIANS / pointsOnCircle;
+            if (abs(sweepAngleRadians) > threshold) {
+                double angle = normalizeRadians(startAngleRadians);
+                if (overlapPoints && pointsOnCircle <= MAX_TABLE_POINTS_ON_CIRCLE) {
+                    appendTableArc(centerX, centerY, radius, angle, sweepAngleRadians,
+                            pointsOnCircle, path, points);
+                    return;
+                }
+                pointFromAngleRadians(centerX, centerY, radius, angle, points, 0);
+                path.moveTo(points[0], points[1]);
+                if (overlapPoints) {
+                    final boolean cw = sweepAngleRadians > 0; // clockwise?
+                    final double angleEnd = angle + sweepAngleRadians;
+                    while (true) {
+                        double next = (cw ? ceil(angle / threshold) : floor(angle / threshold)) *
+                                      threshold;
+                        if (angle == next) {
+                            next += threshold * (cw ? 1d : -1d);
+                        }
+                        final boolean isEnd = cw ? angleEnd <= next : angleEnd >= next;
+                        pointFromAngleRadians(centerX, centerY, radius, isEnd ? angleEnd : next, points, 2);
+                        addBezierArcToPath(path, centerX, centerY,
+                                points[0], points[1], points[2], points[3], false);
+                        if (isEnd) {
+                            break;
+                        }
+                        angle = next;
+                        points[0] = points[2];
+                        points[1] = points[3];
+                    }
+                } else {
+                    final int n = abs((int) ceil(sweepAngleRadians / threshold));
+                    final double sweep = sweepAngleRadians / n;
+                    for (int i = 0; i < n; i++) {
+                        angle += sweep;
+                        pointFromAngleRadians(centerX, centerY, radius, angle, points, 2);
+                        addBezierArcToPath(path, centerX, centerY,
+                                points[0], points[1], points[2], points[3], false);
+                        points[0] = points[2];
+                        points[1] = points[3];
+                    }
+                }
+                return;
+            }
+        }
+
+        pointFromAngleRadians(centerX, centerY, radius, startAngleRadians, points, 0);
+        pointFromAngleRadians(centerX, centerY, radius, startAngleRadians + sweepAngleRadians, points, 2);
+        addBezierArcToPath(path, centerX, centerY, points[0], points[1], points[2], points[3], true);
+    }
+
+    /**
+     * Appends an arc split on every multiple of the <i>threshold</i>, using the precomputed unit circle segments for
+     * every whole segment. Only the partial first and last segments are computed using trigonometric functions.
+     *
+     * @param angle The normalized starting angle (in radians).
+     */
+    private static void appendTableArc(float centerX, float centerY, float radius, double angle,
+                                       double sweepAngleRadians, int pointsOnCircle, PathSink path, float[] points)
+    {
+        final float[] table = unitArcTable(pointsOnCircle);
+        final double threshold = FULL_CIRCLE_RADIANS / pointsOnCircle;
+        final boolean cw = sweepAngleRadians > 0; // clockwise?
+        final double angleEnd = angle + sweepAngleRadians;
+
+        final double startUnits = snapToSegment(angle / threshold);
+        final double endUnits = snapToSegment(angleEnd / threshold);
+
+        // The first and the last segment boundary covered by the arc
+        final int first = (int) (cw ? ceil(startUnits) : floor(startUnits));
+        final int last = (int) (cw ? floor(endUnits) : ceil(endUnits));
+        final int direction = cw ? 1 : -1;
+
+        if (cw ? first > last : first < last) {
+            // The arc doesn't contain any segment boundary
+            pointFromAngleRadians(centerX, centerY, radius, angle, points, 0);
+            pointFromAngleRadians(centerX, centerY, radius, angleEnd, points, 2);
+            addBezierArcToPath(path, centerX, centerY, points[0], points[1], points[2], points[3], true);
+            return;
+        }
+
+        // Partial first segment
+        tablePoint(table, pointsOnCircle, first, centerX, centerY, radius, points, 2);
+        if (startUnits == first) {
+            path.moveTo(points[2], points[3]);
+        } else {
+            pointFromAngleRadians(centerX, centerY, radius, angle, points, 0);
+            addBezierArcToPath(path, centerX, centerY, points[0], points[1], points[2], points[3], true);
+        }
+
+        // Whole segments
+        for (int i = first; i != last; i += direction) {
+            final int offset = TABLE_STRIDE * floorMod(cw ? i : i - 1, pointsOnCircle);
+            final int c1 = cw ? offset + 2 : offset + 4;
+            final int c2 = cw ? offset + 4 : offset + 2;
+            tablePoint(table, pointsOnCircle, i + direction, centerX, centerY, radius, points, 2);
+            path.cubicTo(
+                    centerX + radius * table[c1], centerY + radius * table[c1 + 1],
+                    centerX + radius * table[c2], centerY + radius * table[c2 + 1],
+                    points[2], points[3]
+            );
+        }
+
+        // Partial last segment
+        if (endUnits != last) {
+            points[0] = points[2];
+            points[1] = points[3];
+            pointFromAngleRadians(centerX, centerY, radius, angleEnd, points, 2);
+            addBezierArcToPath(path, centerX, centerY, points[0], points[1], points[2], points[3], false);
+        }
+    }
+
+    /**
+     * Stores the scaled segment boundary {@code index} of the given unit circle table in {@code out}.
+     */
+    private static void tablePoint(float[] table, int pointsOnCircle, int index,
+                                   float centerX, float centerY, float radius, float[] out, int offset)
+    {
+        final int i = TABLE_STRIDE * floorMod(index, pointsOnCircle);
+        out[offset] = centerX + radius * table[i];
+        out[offset + 1] = centerY + radius * table[i + 1];
+    }
+
+    /**
+     * Computes the point of a given angle (in degrees) on a circle, looking it up in the unit circle table of
+     * {@code pointsOnCircle} when the angle lies on a segment boundary.
+     *
+     * @param centerX        The X coordinate of the center of the circle.
+     * @param centerY        The Y coordinate of the center of the circle.
+     * @param radius         The radius of the circle.
+     * @param angleDegrees   The angle (in degrees).
+     * @param pointsOnCircle The number of segments of the table to use.
+     * @param out            The array to store the X and Y coordinates in.
+     * @param offset         Index of the X coordinate in {@code out}, the Y coordinate is stored after it.
+     */
+    public static void pointFromAngleDegrees(float centerX, float centerY, float radius, float angleDegrees,
+                                             int pointsOnCircle, float[] out, int offset)
+    {
+        if (pointsOnCircle >= 1 && pointsOnCircle <= MAX_TABLE_POINTS_ON_CIRCLE) {
+            final double units = snapToSegment(angleDegrees * pointsOnCircle / 360d);
+            if (units == floor(units)) {
+                tablePoint(unitArcTable(pointsOnCircle), pointsOnCircle, (int) units,
+                        centerX, centerY, radius, out, offset);
+                return;
+            }
+        }
+        pointFromAngleRadians(centerX, centerY, radius, toRadians(angleDegrees), out, offset);
+    }
+
+    /**
+     * Returns the unit circle table for the given {@code pointsOnCircle} value, building it on first use. Threads
+     * racing for a new table may build it more than once, but they all use the first one published.
+     */
+    private static float[] unitArcTable(int pointsOnCircle)
+    {
+        float[] table = sUnitArcTables.get(pointsOnCircle);
+        if (table == null) {
+            table = new float[TABLE_STRIDE * pointsOnCircle];
+            final double threshold = FULL_CIRCLE_RADIANS / pointsOnCircle;
+            // Distance of the control points from the end points, see addBezierArcToPath
+            final double k = 4d / 3d * Math.tan(threshold / 4d);
+            for (int i = 0; i < pointsOnCircle; i++) {
+                final double startCos = cos(i * threshold);
+                final double startSin = sin(i * threshold);
+                final double endCos = cos((i + 1) * threshold);
+                final double endSin = sin((i + 1) * threshold);
+                final int offset = TABLE_STRIDE * i;
+                table[offset] = (float) startCos;
+                table[offset + 1] = (float) startSin;
+                table[offset + 2] = (float) (startCos - k * startSin);
+                table[offset + 3] = (float) (startSin + k * startCos);
+                table[offset + 4] = (float) (endCos + k * endSin);
+                table[offset + 5] = (float) (endSin - k * endCos);
+            }
+            if (!sUnitArcTables.compareAndSet(pointsOnCircle, null, table)) {
+                table = sUnitArcTables.get(pointsOnCircle);
+            }
+        }
+        return table;
+    }
+
+    private static double snapToSegment(double units)
+    {
+        final double rounded = Math.rint(units);
+        return abs(units - rounded) < TABLE_EPSILON ? rounded : units;
+    }
+
+    private static int floorMod(int index, int modulus)
+    {
+        final int mod = index % modulus;
+        return mod < 0 ? mod + modulus : mod;
+    }
+}
@@ -0,0 +1,21 @@
+package com.biowink.clue;
+
+/**
+ * Receives the segments of the arcs built by {@link BezierArc}.
+ * <p/>
+ * The methods match the ones of {@code android.graphics.Path}, so a {@code Path} subclass can implement this
+ * interface without any additional code.
+ */
+public interface PathSink
+{
+
+    /**
+     * Begin a new contour at the given point.
+     */
+    void moveTo(float x, float y);
+
+    /**
+     * Add a cubic Bézier curve from the last point, using the given control points and end point.
+     */
+    void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3);
+}
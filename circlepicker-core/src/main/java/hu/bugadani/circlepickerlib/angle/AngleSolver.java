@@ -0,0 +1,66 @@
+package hu.bugadani.circlepickerlib.angle;
+
+/**
+ * Computes the angle of touch positions.
+ * <p/>
+ * Implementations may approximate the angle, as long as the error stays below {@link #getMaxError()}.
+ * {@link #atan2Degrees(double, double, double, double, double)} uses that bound to return angles which select
+ * the same step as the exact angle would.
+ */
+public abstract class AngleSolver
+{
+
+    /**
+     * Returns the angle of the point (x, y) in degrees, between -180 and 180, like {@code Math.atan2}.
+     *
+     * @param y The y coordinate
+     * @param x The x coordinate
+     */
+    public abstract double atan2Degrees(double y, double x);
+
+    /**
+     * Returns the largest difference between {@link #atan2Degrees(double, double)} and the exact angle
+     * (in degrees).
+     */
+    public abstract double getMaxError();
+
+    /**
+     * Returns {@code atan2Degrees(y, x) + offset}, using the exact angle if the approximation could be on the
+     * other side of a step boundary than the exact one.
+     * <p/>
+     * Steps are at multiples of {@code stepAngle}, their boundaries are halfway between them, and when
+     * {@code hysteresis} is positive, also {@code hysteresis} degrees further on both sides.
+     *
+     * @param y          The y coordinate
+     * @param x          The x coordinate
+     * @param offset     Added to the angle, the steps are measured from this
+     * @param stepAngle  The angle between two steps
+     * @param hysteresis The width of the hysteresis band around the boundaries, 0 for none
+     */
+    public final double atan2Degrees(double y, double x, double offset, double stepAngle, double hysteresis)
+    {
+        final double angle = atan2Degrees(y, x) + offset;
+        final double maxError = getMaxError();
+        if (maxError == 0) {
+            return angle;
+        }
+
+        final double halfStep = stepAngle / 2;
+        if (isNearBoundary(angle, halfStep, stepAngle, maxError)
+                || hysteresis > 0 && (isNearBoundary(angle, halfStep + hysteresis, stepAngle, maxError)
+                || isNearBoundary(angle, halfStep - hysteresis, stepAngle, maxError))) {
+            return Math.toDegrees(Math.atan2(y, x)) + offset;
+        }
+        return angle;
+    }
+
+    /**
+     * Returns whether the angle is closer than {@code margin} to {@code boundary + k * spacing} for any integer k.
+     */
+    public static boolean isNearBoundary(double angle, double boundary, double spacing, double margin)
+    {
+        final double steps = (angle - boundary) / spacing;
+        //Also true for NaN, so the caller falls back to the exact computation
+        return !(Math.abs(steps - Math.rint(steps)) * spacing > margin);
+    }
+}
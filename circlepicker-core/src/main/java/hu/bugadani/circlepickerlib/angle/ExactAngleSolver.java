@@ -0,0 +1,20 @@
+package hu.bugadani.circlepickerlib.angle;
+
+/**
+ * Computes angles using {@code Math.atan2}.
+ */
+public class ExactAngleSolver extends AngleSolver
+{
+
+    @Override
+    public double atan2Degrees(double y, double x)
+    {
+        return Math.toDegrees(Math.atan2(y, x));
+    }
+
+    @Override
+    public double getMaxError()
+    {
+        return 0;
+    }
+}
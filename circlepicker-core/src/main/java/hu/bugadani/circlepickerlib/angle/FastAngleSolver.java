@@ -0,0 +1,61 @@
+package hu.bugadani.circlepickerlib.angle;
+
+/**
+ * Computes angles using a polynomial approximation of {@code atan}, which is faster than {@code Math.atan2}
+ * on runtimes where the latter is not an intrinsic.
+ * <p/>
+ * The argument is reduced to [0, 1] using the symmetries of the function and {@code atan} is approximated
+ * there with the 9th degree minimax polynomial from Abramowitz and Stegun (4.4.49). The error is below
+ * 1.2e-5 radians, about 0.00066 degrees.
+ */
+public class FastAngleSolver extends AngleSolver
+{
+
+    /**
+     * Bound of the error in degrees, with some room for the rounding errors
+     */
+    private static final double MAX_ERROR = 1e-3;
+
+    private static final double A1 = 0.9998660;
+    private static final double A3 = -0.3302995;
+    private static final double A5 = 0.1801410;
+    private static final double A7 = -0.0851330;
+    private static final double A9 = 0.0208351;
+
+    private static final double HALF_PI = Math.PI / 2;
+    private static final double RADIANS_TO_DEGREES = 180 / Math.PI;
+
+    @Override
+    public double atan2Degrees(double y, double x)
+    {
+        final double absX = Math.abs(x);
+        final double absY = Math.abs(y);
+        if (!(absX + absY > 0) || Double.isInfinite(absX + absY)) {
+            //The origin, infinities and NaN
+            return Math.toDegrees(Math.atan2(y, x));
+        }
+
+        final boolean steep = absY > absX;
+        final double z = steep ? absX / absY : absY / absX;
+        final double z2 = z * z;
+
+        double angle = z * (A1 + z2 * (A3 + z2 * (A5 + z2 * (A7 + z2 * A9))));
+        if (steep) {
+            angle = HALF_PI - angle;
+        }
+        if (x < 0) {
+            angle = Math.PI - angle;
+        }
+        //Checking the sign bit handles -0 like Math.atan2 does
+        if (Double.doubleToRawLongBits(y) < 0) {
+            angle = -angle;
+        }
+        return angle * RADIANS_TO_DEGREES;
+    }
+
+    @Override
+    public double getMaxError()
+    {
+        return MAX_ERROR;
+    }
+}
@@ -0,0 +1,660 @@
+package hu.bugadani.circlepickerlib.core;
+
+import java.math.BigDecimal;
+
+import hu.bugadani.circlepickerlib.angle.AngleSolver;
+import hu.bugadani.circlepickerlib.angle.FastAngleSolver;
+
+/**
+ * Keeps the value of a circle picker and converts between values, angles and touch positions.
+ * <p/>
+ * The engine doesn't depend on Android, so the same quantization can be used on a plain JVM, for example to
+ * validate values picked on a device.
+ */
+public class PickerEngine {
+
+    /**
+     * Position of a touch relative to the wheel
+     */
+    public enum TouchPosition {
+        OnWheel,
+        Inside,
+        Outside
+    }
+
+    /**
+     * Notified when the value is set, either directly or by touching the wheel.
+     */
+    public interface OnValueUpdateListener {
+
+        void onValueUpdated(double value);
+    }
+
+    /**
+     * Steps closer to a whole number than this are treated as whole when computing the limits and the
+     * number of steps in a cycle, to absorb the error of the float attributes.
+     */
+    private static final double STEP_EPSILON = 1e-6;
+
+    /**
+     * The largest number of decimal digits of a step which is stored exactly
+     */
+    private static final int MAX_STEP_SCALE = 15;
+
+    /**
+     * Notified about value updates, may be {@code null}
+     */
+    private final OnValueUpdateListener mListener;
+
+    /**
+     * Number of whole turns of the selected step. Together with {@code mStepInCycle} this is the exact state
+     * of the picker, the value and the angle are derived from them.
+     */
+    private long mRevolutions;
+
+    /**
+     * Index of the selected step inside its turn, between 0 and {@code mStepsPerCycle - 1}
+     */
+    private int mStepInCycle;
+
+    /**
+     * The maximum allowed value
+     */
+    private double mMaxValue;
+
+    /**
+     * The minimum allowed value
+     */
+    private double mMinValue;
+
+    /**
+     * Index of the first and the last step between the limits
+     */
+    private long mMinStepIndex;
+    private long mMaxStepIndex;
+
+    /**
+     * Difference of two consequent values
+     */
+    private double mValuePerStep;
+
+    /**
+     * The step as an exact decimal fraction: {@code mStepUnits / mStepDivisor}. {@code mStepUnits} is 0 if
+     * the step can't be represented this way.
+     */
+    private long mStepUnits;
+    private double mStepDivisor;
+
+    /**
+     * Number of steps in a whole turn
+     */
+    private int mStepsPerCycle = 1;
+
+    /**
+     * Angle offset for the zero value.
+     */
+    private int mWheelRotation;
+
+    /**
+     * The wheel radius
+     */
+    private double mWheelRadius;
+
+    /**
+     * Angle between two values
+     */
+    private double mDegreePerValue;
+
+    /**
+     * Angle between two steps
+     */
+    private double mDegreePerStep;
+
+    /**
+     * Position of the pointer while dragging: the number of whole turns and the angle inside the turn,
+     * between 0 and 360. Kept separately, so the precision doesn't depend on the number of turns.
+     */
+    private long mLastTurns;
+    private double mLastAngleInCycle;
+
+    /**
+     * The last tracked pointer position, to compute the exact angle of it when the approximate one is near
+     * a decision which depends on the angle.
+     */
+    private float mLastX;
+    private float mLastY;
+
+    /**
+     * The originally set cycle value
+     */
+    private double mSetCycleValue;
+
+    /**
+     * Angle the pointer has to be moved past a step boundary to select the next step
+     */
+    private double mHysteresis;
+
+    /**
+     * Computes the angle of the touch positions
+     */
+    private AngleSolver mAngleSolver = new FastAngleSolver();
+
+    public PickerEngine(OnValueUpdateListener listener) {
+        mListener = listener;
+    }
+
+    public PickerEngine() {
+        this(null);
+    }
+
+    public void setWheelRotation(int zeroOffset) {
+        mWheelRotation = zeroOffset;
+    }
+
+    public int getWheelRotation() {
+        return mWheelRotation;
+    }
+
+    public void setWheelRadius(double radius) {
+        mWheelRadius = radius;
+    }
+
+    public void setHysteresis(double degrees) {
+        mHysteresis = degrees;
+    }
+
+    public void setAngleSolver(AngleSolver angleSolver) {
+        mAngleSolver = angleSolver;
+    }
+
+    public void setMinValue(double minValue) {
+        mMinValue = minValue;
+        computeStepLimits();
+        computeCycleValue(mMinValue, mMaxValue);
+    }
+
+    public void setMaxValue(double maxValue) {
+        mMaxValue = maxValue;
+        computeStepLimits();
+        computeCycleValue(mMinValue, mMaxValue);
+    }
+
+    public double getMinValue() {
+        return mMinValue;
+    }
+
+    public double getMaxValue() {
+        return mMaxValue;
+    }
+
+    /**
+     * Apply the limits, the step, the cycle value and the rotation at once, then select the given value.
+     * <p/>
+     * Calling the setters one by one recomputes the step limits and the cycle after each of them, this
+     * computes them once. The listener is called once, with the selected value.
+     * <p/>
+     * The configuration is validated before anything is changed, an invalid configuration leaves the engine
+     * unchanged.
+     *
+     * @param valuePerCycle The cycle value, or 0 to compute it from the limits
+     * @throws IllegalArgumentException if the step is not positive or the limits are reversed
+     * @throws IllegalStateException    if neither the limits nor the cycle value are set
+     */
+    public void configure(double minValue, double maxValue, float step, double valuePerCycle, int wheelRotation,
+                          double value) {
+        if (!(step > 0) || Float.isInfinite(step)) {
+            throw new IllegalArgumentException("The step should be positive: " + step);
+        }
+        if (minValue > maxValue) {
+            throw new IllegalArgumentException("The minimum " + minValue + " is larger than the maximum " + maxValue);
+        }
+        if (valuePerCycle == 0 && (minValue == -Float.MAX_VALUE || maxValue == Float.MAX_VALUE)) {
+            throw new IllegalStateException("Either the limits or the cycle value should be set");
+        }
+
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+        mWheelRotation = wheelRotation;
+
+        mValuePerStep = step;
+        computeStepUnits(step);
+        computeStepLimits();
+        setCycleValue(valuePerCycle);
+
+        setValue(value);
+    }
+
+    private void computeCycleValue(double minValue, double maxValue) {
+        //Don't overwrite explicit settings
+        if (mSetCycleValue != 0) {
+            return;
+        }
+
+        //Indeterminate size shouldn't be used
+        if (minValue == -Float.MAX_VALUE || maxValue == Float.MAX_VALUE) {
+            return;
+        }
+
+        double valuePerCycle = getCycleValueFromMinMax(mMaxValue, mMinValue);
+        computeDegreePerValue(valuePerCycle);
+    }
+
+    private double getCycleValueFromMinMax(double max, double min) {
+        if (min < 0 && max > 0) {
+            return max - min + 1;
+        } else {
+            return Math.abs(max + min);
+        }
+    }
+
+    public void setCycleValue(double valuePerCycle) {
+        mSetCycleValue = valuePerCycle;
+        if (valuePerCycle == 0) {
+            //Indeterminate size isn't allowed here
+            if (mMinValue == -Float.MAX_VALUE || mMaxValue == Float.MAX_VALUE) {
+                throw new IllegalStateException("Either the limits or the cycle value should be set");
+            }
+            valuePerCycle = getCycleValueFromMinMax(mMaxValue, mMinValue);
+        }
+        computeDegreePerValue(valuePerCycle);
+    }
+
+    private void computeDegreePerValue(double valuePerCycle) {
+        final long stepIndex = getUnlimitedStepIndex();
+
+        mStepsPerCycle = Math.max(1, (int) Math.floor(valueToSteps(valuePerCycle) + STEP_EPSILON));
+        mDegreePerStep = 360d / mStepsPerCycle;
+        mDegreePerValue = mDegreePerStep / mValuePerStep;
+
+        //Keep the selected step
+        setUnlimitedStepIndex(stepIndex);
+    }
+
+    public void setStep(float step) {
+        //Keep the selected angle
+        final double angle = getUnlimitedAngle();
+
+        mValuePerStep = step;
+        computeStepUnits(step);
+        computeStepLimits();
+        if (mDegreePerValue != 0) {
+            setCycleValue(mSetCycleValue);
+        }
+        setAngle(angle);
+    }
+
+    public float getStep() {
+        return (float) mValuePerStep;
+    }
+
+    /**
+     * Returns the cycle value as it was set, 0 if it is computed from the limits
+     */
+    public double getCycleValue() {
+        return mSetCycleValue;
+    }
+
+    private void computeStepUnits(float step) {
+        mStepUnits = 0;
+        if (!(step > 0) || Float.isInfinite(step)) {
+            return;
+        }
+
+        //The shortest decimal representation is the one that was written in the layout or the code
+        BigDecimal decimal = new BigDecimal(Float.toString(step)).stripTrailingZeros();
+        if (decimal.scale() < 0) {
+            decimal = decimal.setScale(0);
+        }
+        if (decimal.scale() <= MAX_STEP_SCALE && decimal.unscaledValue().bitLength() < 53) {
+            mStepUnits = decimal.unscaledValue().longValue();
+            mStepDivisor = Math.pow(10, decimal.scale());
+        }
+    }
+
+    private void computeStepLimits() {
+        final double minSteps = valueToSteps(mMinValue);
+        final double maxSteps = valueToSteps(mMaxValue);
+        //Casting saturates for the indeterminate limits
+        mMinStepIndex = (long) Math.ceil(minSteps - STEP_EPSILON);
+        mMaxStepIndex = (long) Math.floor(maxSteps + STEP_EPSILON);
+    }
+
+    /**
+     * Returns the number of steps in the given value
+     */
+    private double valueToSteps(double value) {
+        if (mStepUnits != 0) {
+            return value * mStepDivisor / mStepUnits;
+        }
+        return value / mValuePerStep;
+    }
+
+    /**
+     * Returns the value of the given step. Exact for decimal steps, so 3 steps of 0.1 are 0.3
+     */
+    private double stepsToValue(long steps) {
+        if (mStepUnits != 0) {
+            return (double) steps * mStepUnits / mStepDivisor;
+        }
+        return steps * mValuePerStep;
+    }
+
+    private long getUnlimitedStepIndex() {
+        return mRevolutions * mStepsPerCycle + mStepInCycle;
+    }
+
+    private void setUnlimitedStepIndex(long stepIndex) {
+        mRevolutions = floorDiv(stepIndex, mStepsPerCycle);
+        mStepInCycle = (int) (stepIndex - mRevolutions * mStepsPerCycle);
+    }
+
+    private static long floorDiv(long dividend, long divisor) {
+        final long quotient = dividend / divisor;
+        if ((dividend % divisor != 0) && ((dividend < 0) != (divisor < 0))) {
+            return quotient - 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Returns the index of the selected step, limited to the steps between the limits
+     */
+    public long getStepIndex() {
+        return Math.max(mMinStepIndex, Math.min(getUnlimitedStepIndex(), mMaxStepIndex));
+    }
+
+    public TouchPosition handleTouch(float x, float y) {
+        final double squaredDistFromOrigin = (double) x * x + (double) y * y;
+        final double innerRadius = mWheelRadius * 0.6;
+        final double outerRadius = mWheelRadius * 1.4;
+
+        if (squaredDistFromOrigin < innerRadius * innerRadius) {
+            return TouchPosition.Inside;
+        } else if (squaredDistFromOrigin > outerRadius * outerRadius) {
+            return TouchPosition.Outside;
+        } else {
+            final double currentAngleInCycle = getCurrentAngleInCycle(x, y);
+            final double offset = computeOffsetForTouch(currentAngleInCycle, x, y);
+
+            setDraggedOffset(offset);
+
+            return TouchPosition.OnWheel;
+        }
+    }
+
+    public void handleDrag(float x, float y) {
+        trackDrag(x, y);
+        resolveDrag();
+    }
+
+    /**
+     * Follow the pointer to the given position without changing the value.
+     */
+    public void trackDrag(float x, float y) {
+        final double currentAngleInCycle = getCurrentAngleInCycle(x, y);
+        trackAngleForMove(currentAngleInCycle, x, y);
+    }
+
+    /**
+     * Set the value to the one selected by the tracked pointer position.
+     */
+    public void resolveDrag() {
+        setDraggedOffset(getDragOffset());
+    }
+
+    private double getCurrentAngleInCycle(float x, float y) {
+        //The solver returns the exact angle near the boundaries, so the selected step doesn't depend on it
+        return mAngleSolver.atan2Degrees(
+                y,
+                x,
+                90 - mWheelRotation,
+                mDegreePerStep,
+                mHysteresis > 0 ? Math.min(mHysteresis, mDegreePerStep / 2) : 0
+        );
+    }
+
+    /**
+     * Returns the exact angle of the given position, computed like the solvers compute it.
+     */
+    private double getExactAngleInCycle(float x, float y) {
+        return mod360(Math.toDegrees(Math.atan2(y, x)) + (90 - mWheelRotation));
+    }
+
+    /**
+     * Returns whether a difference of approximate angles may be on the other side of the threshold than the
+     * difference of the exact angles.
+     */
+    private boolean isNearThreshold(double angle, double threshold) {
+        //Both the current and the last angle may be approximate
+        return Math.abs(angle - threshold) <= 2 * mAngleSolver.getMaxError();
+    }
+
+    /**
+     * Returns the turns to add to an angle difference of a touch, the 180° separates incrementing and
+     * decrementing.
+     */
+    private static int getTouchTurns(double diff) {
+        if (diff < -180) {
+            return 1;
+        } else if (diff > 180) {
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the turns to add to an angle difference of a move, the pointer may move backwards by up to 90°.
+     */
+    private static int getMoveTurns(double diff) {
+        if (diff < -90) {
+            return 1;
+        } else if (diff > 270) {
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     * Start dragging at the given angle. Returns the offset of the angle from the selected step (in degrees).
+     */
+    private double computeOffsetForTouch(double touchAngle, float x, float y) {
+        final double angleInCycle = mod360(touchAngle);
+        final double selectedAngle = getSelectedAngleInCycle();
+        final double diff = angleInCycle - selectedAngle;
+
+        int turns = getTouchTurns(diff);
+        if (isNearThreshold(diff + turns * 360, -180) || isNearThreshold(diff + turns * 360, 180)) {
+            //The touch selects the same turn as with the exact angle
+            final double exactDiff = getExactAngleInCycle(x, y) - selectedAngle;
+            final double exactOffset = exactDiff + getTouchTurns(exactDiff) * 360;
+            turns = (int) Math.round((exactOffset - diff) / 360);
+        }
+
+        mLastTurns = mRevolutions + turns;
+        mLastAngleInCycle = angleInCycle;
+        mLastX = x;
+        mLastY = y;
+
+        return diff + turns * 360;
+    }
+
+    private void trackAngleForMove(double angle, float x, float y) {
+        final double angleInCycle = mod360(angle);
+        final double diff = angleInCycle - mLastAngleInCycle;
+
+        int turns = getMoveTurns(diff);
+        if (isNearThreshold(diff + turns * 360, -90) || isNearThreshold(diff + turns * 360, 270)) {
+            //The pointer moves in the same direction as with the exact angles
+            final double exactDiff = getExactAngleInCycle(x, y) - getExactAngleInCycle(mLastX, mLastY);
+            final double exactMove = exactDiff + getMoveTurns(exactDiff) * 360;
+            turns = (int) Math.round((exactMove - diff) / 360);
+        }
+
+        mLastTurns += turns;
+        mLastAngleInCycle = angleInCycle;
+        mLastX = x;
+        mLastY = y;
+
+        double offset = getDragOffset();
+        if (isNearThreshold(offset, 360) || isNearThreshold(offset, -360)) {
+            //The exact angle may be in the neighbouring turn
+            final double exactAngleInCycle = getExactAngleInCycle(x, y);
+            final long exactTurns = mLastTurns + Math.round((angleInCycle - exactAngleInCycle) / 360);
+            offset = (exactTurns - mRevolutions) * 360d + (exactAngleInCycle - getSelectedAngleInCycle());
+        }
+        if (offset > 360) {
+            mLastTurns--;
+        } else if (offset < -360) {
+            mLastTurns++;
+        }
+    }
+
+    /**
+     * Returns the angle between the selected step and the tracked pointer position
+     */
+    private double getDragOffset() {
+        return (mLastTurns - mRevolutions) * 360d + (mLastAngleInCycle - getSelectedAngleInCycle());
+    }
+
+    private double mod360(double angle) {
+        double mod = (angle % 360);
+        if (mod < 0) {
+            mod += 360;
+        }
+        return mod;
+    }
+
+    /**
+     * Select the step closest to the given angle
+     */
+    public void setAngle(double angle) {
+        setStepIndex(Math.round(angle / mDegreePerStep));
+    }
+
+    /**
+     * Select the step closest to the angle the pointer was dragged to, keeping the current step while
+     * the angle is inside the hysteresis band around its boundaries.
+     * <p/>
+     * Works with the offset from the selected step, so the cost and the precision are the same
+     * however many turns the wheel was rotated with indeterminate limits.
+     *
+     * @param offset Angle between the selected step and the pointer (in degrees)
+     */
+    private void setDraggedOffset(double offset) {
+        final long currentStep = getUnlimitedStepIndex();
+
+        //Indeterminate limits are too far to have an effect here
+        final double steps = limit(
+                offset / mDegreePerStep,
+                valueToSteps(mMinValue) - currentStep,
+                valueToSteps(mMaxValue) - currentStep
+        );
+        if (mHysteresis > 0) {
+            //Wider bands would skip steps
+            final double band = Math.min(mHysteresis / mDegreePerStep, 0.5);
+            if (Math.abs(steps) < 0.5 + band) {
+                setStepIndex(currentStep);
+                return;
+            }
+        }
+        setStepIndex(currentStep + Math.round(steps));
+    }
+
+    public void setValue(double value) {
+        setStepIndex(Math.round(valueToSteps(value)));
+    }
+
+    /**
+     * Returns the value the picker would select for the given value, without selecting it
+     */
+    public double getClosestValue(double value) {
+        final long stepIndex = Math.round(valueToSteps(value));
+        if (stepIndex < mMinStepIndex) {
+            return mMinValue;
+        } else if (stepIndex > mMaxStepIndex) {
+            return mMaxValue;
+        } else {
+            return stepsToValue(stepIndex);
+        }
+    }
+
+    private void setStepIndex(long stepIndex) {
+        setUnlimitedStepIndex(stepIndex);
+
+        if (mListener != null) {
+            mListener.onValueUpdated(getValue());
+        }
+    }
+
+    private double limit(double number, double min, double max) {
+        if (number < min) {
+            return min;
+        } else if (number > max) {
+            return max;
+        } else {
+            return number;
+        }
+    }
+
+    public double getValue() {
+        final long stepIndex = getUnlimitedStepIndex();
+        if (stepIndex < mMinStepIndex) {
+            return mMinValue;
+        } else if (stepIndex > mMaxStepIndex) {
+            return mMaxValue;
+        } else {
+            return stepsToValue(stepIndex);
+        }
+    }
+
+    /**
+     * Returns the angle between two steps
+     */
+    public double getDegreePerStep() {
+        return mDegreePerStep;
+    }
+
+    private double valueToDegree(double value) {
+        return valueToSteps(value) * mDegreePerStep;
+    }
+
+    /**
+     * Returns the angle of the selected step, ignoring the limits
+     */
+    private double getUnlimitedAngle() {
+        return getUnlimitedStepIndex() * mDegreePerStep;
+    }
+
+    /**
+     * Returns the angle of the selected step inside its turn, ignoring the limits
+     */
+    private double getSelectedAngleInCycle() {
+        return mStepInCycle * mDegreePerStep;
+    }
+
+    /**
+     * Returns the angle of the value inside its turn, between 0 and 360. Unlike {@code getAngle() % 360},
+     * this doesn't lose precision after many turns.
+     */
+    public double getAngleInCycle() {
+        final long stepIndex = getUnlimitedStepIndex();
+        if (stepIndex < mMinStepIndex) {
+            return mod360(valueToDegree(mMinValue));
+        } else if (stepIndex > mMaxStepIndex) {
+            return mod360(valueToDegree(mMaxValue));
+        } else {
+            return getSelectedAngleInCycle();
+        }
+    }
+
+    public double getAngle() {
+        final long stepIndex = getUnlimitedStepIndex();
+        if (stepIndex < mMinStepIndex) {
+            return valueToDegree(mMinValue);
+        } else if (stepIndex > mMaxStepIndex) {
+            return valueToDegree(mMaxValue);
+        } else {
+            return stepIndex * mDegreePerStep;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package hu.bugadani.circlepickerlib.core;
+
+/**
+ * The touch gesture of a picker: turns touch events into drags of a {@link PickerEngine} and reports the value
+ * changes of a drag, skipping the updates which don't change the value.
+ * <p/>
+ * Both the view and {@link hu.bugadani.circlepickerlib.trace.TouchTraceReplayer} handle the touch events
+ * through this class, so a replay exercises the same state machine as the view.
+ */
+public class PickerGesture implements PickerEngine.OnValueUpdateListener {
+
+    /**
+     * Touch actions, with the same values as the {@code MotionEvent} actions
+     */
+    public static final int ACTION_DOWN = 0;
+    public static final int ACTION_UP = 1;
+    public static final int ACTION_MOVE = 2;
+    public static final int ACTION_CANCEL = 3;
+
+    public interface Listener {
+
+        /**
+         * Called when a drag changes the value
+         */
+        void onValueChanging(double value);
+
+        /**
+         * Called when a drag ends
+         */
+        void onValueChanged(double value);
+    }
+
+    private final PickerEngine mEngine = new PickerEngine(this);
+    private final Listener mListener;
+
+    /**
+     * {@code true} if the user touched the wheel and hasn't released it yet.
+     */
+    private boolean mDragging;
+
+    /**
+     * The last value reported to the listener during the drag, with its step index. {@code mValueDispatched} is
+     * {@code false} until the first change of a drag is reported.
+     */
+    private boolean mValueDispatched;
+    private long mDispatchedStepIndex;
+    private double mDispatchedValue;
+
+    public PickerGesture(Listener listener) {
+        mListener = listener;
+    }
+
+    public PickerEngine getEngine() {
+        return mEngine;
+    }
+
+    public boolean isDragging() {
+        return mDragging;
+    }
+
+    /**
+     * Handle a touch event. The coordinates are relative to the center of the wheel.
+     * <p/>
+     * A down event on the wheel starts a drag and is handled as a move event, too. When {@code deferred} is
+     * {@code true}, move events are only tracked and the value is updated by {@link #resolve()}, or when the drag
+     * ends.
+     *
+     * @param action One of the {@code ACTION_} constants
+     * @return The position of a down event, {@code null} for other events
+     */
+    public PickerEngine.TouchPosition handle(int action, float x, float y, boolean deferred) {
+        PickerEngine.TouchPosition touchPosition = null;
+        switch (action) {
+            case ACTION_DOWN:
+                touchPosition = mEngine.handleTouch(x, y);
+                if (touchPosition == PickerEngine.TouchPosition.OnWheel) {
+                    mDragging = true;
+                    mValueDispatched = false;
+                }
+                //The down event moves the pointer, too
+                move(x, y, deferred);
+                break;
+            case ACTION_MOVE:
+                move(x, y, deferred);
+                break;
+            case ACTION_UP:
+                if (mDragging) {
+                    if (deferred) {
+                        mEngine.resolveDrag();
+                    }
+                    mDragging = false;
+                    mListener.onValueChanged(mEngine.getValue());
+                }
+                break;
+            case ACTION_CANCEL:
+                cancel();
+                break;
+        }
+        return touchPosition;
+    }
+
+    private void move(float x, float y, boolean deferred) {
+        if (mDragging) {
+            if (deferred) {
+                mEngine.trackDrag(x, y);
+            } else {
+                mEngine.handleDrag(x, y);
+            }
+        }
+    }
+
+    /**
+     * Update the value to the one selected by the tracked pointer position of a deferred drag.
+     */
+    public void resolve() {
+        if (mDragging) {
+            mEngine.resolveDrag();
+        }
+    }
+
+    /**
+     * End the drag without reporting it.
+     */
+    public void cancel() {
+        mDragging = false;
+    }
+
+    @Override
+    public void onValueUpdated(double value) {
+        if (!mDragging) {
+            return;
+        }
+        //The value is compared too, as the limits don't need to be on a step
+        final long stepIndex = mEngine.getStepIndex();
+        if (mValueDispatched && stepIndex == mDispatchedStepIndex && value == mDispatchedValue) {
+            return;
+        }
+        mValueDispatched = true;
+        mDispatchedStepIndex = stepIndex;
+        mDispatchedValue = value;
+
+        mListener.onValueChanging(value);
+    }
+}
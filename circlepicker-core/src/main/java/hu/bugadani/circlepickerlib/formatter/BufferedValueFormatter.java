@@ -0,0 +1,19 @@
+package hu.bugadani.circlepickerlib.formatter;
+
+/**
+ * A {@code ValueFormatter} which is able to append the formatted value to an existing buffer.
+ * <p/>
+ * The picker uses {@link #formatTo(double, StringBuilder)} instead of {@link #format(double)} for formatters
+ * implementing this interface, so implementations can avoid allocating a new {@code String} for every value.
+ */
+public interface BufferedValueFormatter extends ValueFormatter
+{
+
+    /**
+     * Append the formatted value to {@code out}.
+     *
+     * @param value The value to format
+     * @param out   The buffer to append to
+     */
+    void formatTo(double value, StringBuilder out);
+}
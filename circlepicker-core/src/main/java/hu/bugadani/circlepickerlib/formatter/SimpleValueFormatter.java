@@ -0,0 +1,256 @@
+package hu.bugadani.circlepickerlib.formatter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Formats values using a {@link String#format(String, Object...)} pattern.
+ * <p/>
+ * Patterns consisting of a single {@code %f} or {@code %.Nf} conversion surrounded by literal text (like
+ * {@code "%.1f"} or {@code "%.0f°"}) are compiled into a fixed point digit emitter, so
+ * {@link #formatTo(double, StringBuilder)} doesn't allocate. Other patterns are passed to
+ * {@code String.format}.
+ * <p/>
+ * Instances are thread-safe and can be shared.
+ */
+public class SimpleValueFormatter implements BufferedValueFormatter
+{
+
+    /**
+     * The largest supported precision of a compiled pattern
+     */
+    private static final int MAX_PRECISION = 9;
+
+    /**
+     * Scaled values at and above this are formatted using {@code String.format}, as their last digit can't be rounded
+     * reliably
+     */
+    private static final double MAX_FIXED_POINT = 1e9;
+
+    /**
+     * Scaled values this many ulps away from a rounding boundary are rounded like {@code String.format} would round
+     * them. Closer to the boundary the value is rounded by {@link #roundExactly(double)}.
+     */
+    private static final int ULP_TOLERANCE = 16;
+
+    /**
+     * {@code true} if {@code Locale.Category} is available, which is missing below Android API 24
+     */
+    private static final boolean HAS_LOCALE_CATEGORY = hasLocaleCategory();
+
+    /**
+     * Keeps the {@code Locale.Category} reference out of {@link #formatTo(double, StringBuilder)}, so the
+     * class can be verified where {@code Locale.Category} doesn't exist
+     */
+    private static final class FormatLocale
+    {
+
+        static Locale get()
+        {
+            return Locale.getDefault(Locale.Category.FORMAT);
+        }
+    }
+
+    /**
+     * Locale specific symbols, replaced together when the default locale changes
+     */
+    private static final class Symbols
+    {
+
+        final Locale mLocale;
+        final char mDecimalSeparator;
+        final char mZeroDigit;
+
+        Symbols(Locale locale)
+        {
+            final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+            mLocale = locale;
+            mDecimalSeparator = symbols.getDecimalSeparator();
+            mZeroDigit = symbols.getZeroDigit();
+        }
+    }
+
+    private final String mFormat;
+
+    /**
+     * {@code true} if the pattern could be compiled
+     */
+    private final boolean mCompiled;
+    private final String mPrefix;
+    private final String mSuffix;
+    private final int mPrecision;
+    private final long mScale;
+
+    /**
+     * Symbols of the last used locale, published with a single write
+     */
+    private volatile Symbols mSymbols;
+
+    public SimpleValueFormatter(String format)
+    {
+        mFormat = format;
+
+        final StringBuilder prefix = new StringBuilder();
+        final StringBuilder suffix = new StringBuilder();
+        final int precision = compile(format, prefix, suffix);
+        mCompiled = precision != -1;
+        mPrefix = prefix.toString();
+        mSuffix = suffix.toString();
+        mPrecision = Math.max(0, precision);
+        long scale = 1;
+        for (int i = 0; i < mPrecision; i++) {
+            scale *= 10;
+        }
+        mScale = scale;
+    }
+
+    public SimpleValueFormatter()
+    {
+        this("%.0f");
+    }
+
+    @Override
+    public String format(double angle)
+    {
+        if (!mCompiled) {
+            return String.format(mFormat, angle);
+        }
+        final StringBuilder builder = new StringBuilder(mPrefix.length() + mSuffix.length() + 16);
+        formatTo(angle, builder);
+        return builder.toString();
+    }
+
+    @Override
+    public void formatTo(double value, StringBuilder out)
+    {
+        final double scaled = Math.abs(value) * mScale;
+        if (!mCompiled || !(scaled < MAX_FIXED_POINT)) {
+            out.append(String.format(mFormat, value));
+            return;
+        }
+
+        //The locale String.format uses: the FORMAT locale, or the default locale where there are no categories
+        final Locale locale = HAS_LOCALE_CATEGORY ? FormatLocale.get() : Locale.getDefault();
+        Symbols symbols = mSymbols;
+        if (symbols == null || symbols.mLocale != locale) {
+            symbols = new Symbols(locale);
+            mSymbols = symbols;
+        }
+
+        final double floor = Math.floor(scaled);
+        final double fraction = scaled - floor;
+        final long fixed;
+        if (Math.abs(fraction - 0.5) <= Math.ulp(scaled) * ULP_TOLERANCE) {
+            fixed = roundExactly(value);
+        } else {
+            fixed = (long) floor + (fraction > 0.5 ? 1 : 0);
+        }
+
+        out.append(mPrefix);
+        //Negative zero is formatted with a sign, too
+        if (Double.doubleToRawLongBits(value) < 0) {
+            out.append('-');
+        }
+        appendDigits(out, symbols.mZeroDigit, fixed / mScale, 1);
+        if (mPrecision > 0) {
+            out.append(symbols.mDecimalSeparator);
+            appendDigits(out, symbols.mZeroDigit, fixed % mScale, mPrecision);
+        }
+        out.append(mSuffix);
+    }
+
+    /**
+     * Rounds a value close to a rounding boundary the way {@code String.format} does: its shortest decimal
+     * representation is rounded half up. Allocates, but only runs for values within a few ulps of a boundary.
+     *
+     * @return The absolute value scaled by {@code mScale} and rounded
+     */
+    private long roundExactly(double value)
+    {
+        return new BigDecimal(Double.toString(Math.abs(value)))
+                .setScale(mPrecision, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValue();
+    }
+
+    private static boolean hasLocaleCategory()
+    {
+        try {
+            Class.forName("java.util.Locale$Category");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static void appendDigits(StringBuilder out, char zeroDigit, long number, int minDigits)
+    {
+        long divisor = 1;
+        for (int i = 1; i < minDigits; i++) {
+            divisor *= 10;
+        }
+        while (number / divisor >= 10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            out.append((char) (zeroDigit + number / divisor));
+            number %= divisor;
+            divisor /= 10;
+        }
+    }
+
+    /**
+     * Splits the pattern around its only {@code %f} or {@code %.Nf} conversion.
+     *
+     * @return The precision of the conversion, or -1 if the pattern contains anything else
+     */
+    private static int compile(String format, StringBuilder prefix, StringBuilder suffix)
+    {
+        StringBuilder literal = prefix;
+        int precision = -1;
+
+        final int length = format.length();
+        for (int i = 0; i < length; i++) {
+            final char c = format.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (++i == length) {
+                return -1;
+            }
+            if (format.charAt(i) == '%') {
+                literal.append('%');
+                continue;
+            }
+            if (precision != -1) {
+                //Only a single conversion is supported
+                return -1;
+            }
+
+            int conversionPrecision = 6;
+            if (format.charAt(i) == '.') {
+                conversionPrecision = 0;
+                int digits = 0;
+                while (++i < length && format.charAt(i) >= '0' && format.charAt(i) <= '9') {
+                    conversionPrecision = conversionPrecision * 10 + (format.charAt(i) - '0');
+                    if (++digits > 2) {
+                        return -1;
+                    }
+                }
+                if (digits == 0) {
+                    return -1;
+                }
+            }
+            if (i == length || format.charAt(i) != 'f' || conversionPrecision > MAX_PRECISION) {
+                return -1;
+            }
+            precision = conversionPrecision;
+            literal = suffix;
+        }
+
+        return precision;
+    }
+}
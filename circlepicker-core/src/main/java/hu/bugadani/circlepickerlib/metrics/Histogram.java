@@ -0,0 +1,135 @@
+package hu.bugadani.circlepickerlib.metrics;
+
+/**
+ * Histogram of non-negative values with power of two buckets. Bucket {@code i} holds the values whose highest set
+ * bit is bit {@code i - 1}, bucket 0 holds the zeros.
+ * <p/>
+ * The buckets are preallocated, so recording doesn't allocate. The histogram is not thread safe.
+ */
+public final class Histogram
+{
+
+    public static final int BUCKET_COUNT = 64;
+
+    private final long[] mBuckets = new long[BUCKET_COUNT];
+    private long mCount;
+    private long mSum;
+    private long mMin = Long.MAX_VALUE;
+    private long mMax;
+
+    /**
+     * Records a value, negative values are recorded as 0
+     */
+    public void record(long value)
+    {
+        if (value < 0) {
+            value = 0;
+        }
+        mBuckets[getBucket(value)]++;
+        mCount++;
+        mSum += value;
+        if (value < mMin) {
+            mMin = value;
+        }
+        if (value > mMax) {
+            mMax = value;
+        }
+    }
+
+    /**
+     * Returns the index of the bucket the value belongs to
+     */
+    public static int getBucket(long value)
+    {
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    /**
+     * Returns the largest value which belongs to the bucket
+     */
+    public static long getBucketUpperBound(int bucket)
+    {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    public long getBucketCount(int bucket)
+    {
+        return mBuckets[bucket];
+    }
+
+    public long getCount()
+    {
+        return mCount;
+    }
+
+    public long getSum()
+    {
+        return mSum;
+    }
+
+    /**
+     * Returns the smallest recorded value, or 0 if the histogram is empty
+     */
+    public long getMin()
+    {
+        return mCount == 0 ? 0 : mMin;
+    }
+
+    public long getMax()
+    {
+        return mMax;
+    }
+
+    public double getMean()
+    {
+        return mCount == 0 ? 0 : (double) mSum / mCount;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile: the upper bound of the bucket which contains it, limited to
+     * the largest recorded value.
+     *
+     * @param percentile Between 0 and 100
+     */
+    public long getPercentile(double percentile)
+    {
+        if (mCount == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(mCount * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += mBuckets[i];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), mMax);
+            }
+        }
+        return mMax;
+    }
+
+    /**
+     * Removes every recorded value
+     */
+    public void reset()
+    {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            mBuckets[i] = 0;
+        }
+        mCount = 0;
+        mSum = 0;
+        mMin = Long.MAX_VALUE;
+        mMax = 0;
+    }
+
+    /**
+     * Replaces the recorded values with the ones of {@code other}
+     */
+    public void set(Histogram other)
+    {
+        System.arraycopy(other.mBuckets, 0, mBuckets, 0, BUCKET_COUNT);
+        mCount = other.mCount;
+        mSum = other.mSum;
+        mMin = other.mMin;
+        mMax = other.mMax;
+    }
+}
@@ -0,0 +1,228 @@
+package hu.bugadani.circlepickerlib.trace;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import hu.bugadani.circlepickerlib.core.PickerGesture;
+
+/**
+ * A recorded sequence of touch events of a picker.
+ * <p/>
+ * Every event is stored as its time, action and position relative to the center of the wheel, so a trace can
+ * be replayed without the view, see {@link TouchTraceReplayer}.
+ * <p/>
+ * The binary format is a header (magic, version, wheel radius, event count) followed by 13 bytes per event: the
+ * time since the first event in milliseconds, the action and the coordinates. Every number is big endian.
+ */
+public final class TouchTrace
+{
+
+    /**
+     * The actions match the ones of {@code android.view.MotionEvent}
+     */
+    public static final int ACTION_DOWN   = PickerGesture.ACTION_DOWN;
+    public static final int ACTION_UP     = PickerGesture.ACTION_UP;
+    public static final int ACTION_MOVE   = PickerGesture.ACTION_MOVE;
+    public static final int ACTION_CANCEL = PickerGesture.ACTION_CANCEL;
+
+    private static final int MAGIC   = 0x43505452; // "CPTR"
+    private static final int VERSION = 1;
+
+    private final float mWheelRadius;
+    private final int mSize;
+    private final int[] mTimes;
+    private final byte[] mActions;
+    private final float[] mX;
+    private final float[] mY;
+
+    private TouchTrace(float wheelRadius, int size, int[] times, byte[] actions, float[] x, float[] y)
+    {
+        mWheelRadius = wheelRadius;
+        mSize = size;
+        mTimes = times;
+        mActions = actions;
+        mX = x;
+        mY = y;
+    }
+
+    /**
+     * Returns the radius of the wheel the trace was recorded on
+     */
+    public float getWheelRadius()
+    {
+        return mWheelRadius;
+    }
+
+    public int size()
+    {
+        return mSize;
+    }
+
+    /**
+     * Returns the time of the event in milliseconds, relative to the first event
+     */
+    public int getTime(int index)
+    {
+        return mTimes[index];
+    }
+
+    public int getAction(int index)
+    {
+        return mActions[index];
+    }
+
+    /**
+     * Returns the x coordinate of the event, relative to the center of the wheel
+     */
+    public float getX(int index)
+    {
+        return mX[index];
+    }
+
+    /**
+     * Returns the y coordinate of the event, relative to the center of the wheel
+     */
+    public float getY(int index)
+    {
+        return mY[index];
+    }
+
+    public void writeTo(OutputStream out) throws IOException
+    {
+        final DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeFloat(mWheelRadius);
+        data.writeInt(mSize);
+        for (int i = 0; i < mSize; i++) {
+            data.writeInt(mTimes[i]);
+            data.writeByte(mActions[i]);
+            data.writeFloat(mX[i]);
+            data.writeFloat(mY[i]);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a trace written by {@link #writeTo(OutputStream)}.
+     *
+     * @throws IOException if the stream doesn't contain a trace of a supported version
+     */
+    public static TouchTrace readFrom(InputStream in) throws IOException
+    {
+        final DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a touch trace");
+        }
+        final int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported touch trace version: " + version);
+        }
+        final float wheelRadius = data.readFloat();
+        final int size = data.readInt();
+        if (size < 0) {
+            throw new IOException("Invalid event count: " + size);
+        }
+
+        final int[] times = new int[size];
+        final byte[] actions = new byte[size];
+        final float[] x = new float[size];
+        final float[] y = new float[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = data.readInt();
+            actions[i] = data.readByte();
+            x[i] = data.readFloat();
+            y[i] = data.readFloat();
+        }
+        return new TouchTrace(wheelRadius, size, times, actions, x, y);
+    }
+
+    /**
+     * Collects touch events into a trace. Recording doesn't allocate, except when the buffers grow.
+     */
+    public static final class Recorder
+    {
+
+        private static final int INITIAL_CAPACITY = 256;
+
+        private float mWheelRadius;
+        private long mStartTime;
+        private int mSize;
+        private int[] mTimes = new int[INITIAL_CAPACITY];
+        private byte[] mActions = new byte[INITIAL_CAPACITY];
+        private float[] mX = new float[INITIAL_CAPACITY];
+        private float[] mY = new float[INITIAL_CAPACITY];
+
+        /**
+         * Records an event.
+         *
+         * @param time   The time of the event in milliseconds, in any time base
+         * @param action One of the {@code ACTION_} constants, or another masked {@code MotionEvent} action
+         * @param x      The x coordinate, relative to the center of the wheel
+         * @param y      The y coordinate, relative to the center of the wheel
+         * @throws IllegalArgumentException if the action doesn't fit in the byte it is stored in, like an
+         *                                  action with the pointer index bits
+         */
+        public void record(long time, int action, float x, float y)
+        {
+            if (action < 0 || action > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Not a masked action: " + action);
+            }
+            if (mSize == 0) {
+                mStartTime = time;
+            }
+            if (mSize == mTimes.length) {
+                final int capacity = mSize * 2;
+                mTimes = Arrays.copyOf(mTimes, capacity);
+                mActions = Arrays.copyOf(mActions, capacity);
+                mX = Arrays.copyOf(mX, capacity);
+                mY = Arrays.copyOf(mY, capacity);
+            }
+            mTimes[mSize] = (int) (time - mStartTime);
+            mActions[mSize] = (byte) action;
+            mX[mSize] = x;
+            mY[mSize] = y;
+            mSize++;
+        }
+
+        /**
+         * Set the radius of the wheel the events are recorded on
+         */
+        public void setWheelRadius(float wheelRadius)
+        {
+            mWheelRadius = wheelRadius;
+        }
+
+        public int size()
+        {
+            return mSize;
+        }
+
+        /**
+         * Removes every recorded event
+         */
+        public void clear()
+        {
+            mSize = 0;
+        }
+
+        /**
+         * Returns a trace of the events recorded so far
+         */
+        public TouchTrace toTrace()
+        {
+            return new TouchTrace(
+                    mWheelRadius,
+                    mSize,
+                    Arrays.copyOf(mTimes, mSize),
+                    Arrays.copyOf(mActions, mSize),
+                    Arrays.copyOf(mX, mSize),
+                    Arrays.copyOf(mY, mSize)
+            );
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package hu.bugadani.circlepickerlib.trace;
+
+import java.util.Arrays;
+
+import hu.bugadani.circlepickerlib.core.PickerEngine;
+import hu.bugadani.circlepickerlib.core.PickerGesture;
+
+/**
+ * Replays a {@link TouchTrace} through the {@link PickerGesture} and the {@link PickerEngine} the view uses, in
+ * its per event dispatch mode, and collects the values the view would pass to its listener.
+ * <p/>
+ * Configure the engine returned by {@link #getEngine()} like the picker the trace was recorded on, then call
+ * {@link #replay(TouchTrace)}.
+ */
+public class TouchTraceReplayer implements PickerGesture.Listener
+{
+
+    /**
+     * The outcome of a replay
+     */
+    public static final class Result
+    {
+
+        private final int mEventCount;
+        private final long mElapsedNanos;
+        private final double[] mValues;
+        private final int mChangedCount;
+
+        private Result(int eventCount, long elapsedNanos, double[] values, int changedCount)
+        {
+            mEventCount = eventCount;
+            mElapsedNanos = elapsedNanos;
+            mValues = values;
+            mChangedCount = changedCount;
+        }
+
+        public int getEventCount()
+        {
+            return mEventCount;
+        }
+
+        public long getElapsedNanos()
+        {
+            return mElapsedNanos;
+        }
+
+        public double getEventsPerSecond()
+        {
+            return mElapsedNanos > 0 ? mEventCount * 1e9 / mElapsedNanos : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Returns the number of times the listener would be called, counting both the changing and the changed
+         * notifications
+         */
+        public int getListenerInvocations()
+        {
+            return mValues.length + mChangedCount;
+        }
+
+        /**
+         * Returns the values the changing notifications would pass to the listener, in order
+         */
+        public double[] getValues()
+        {
+            return mValues.clone();
+        }
+    }
+
+    private final PickerGesture mGesture = new PickerGesture(this);
+
+    private double[] mValues = new double[256];
+    private int mValueCount;
+    private int mChangedCount;
+
+    public PickerEngine getEngine()
+    {
+        return mGesture.getEngine();
+    }
+
+    @Override
+    public void onValueChanging(double value)
+    {
+        if (mValueCount == mValues.length) {
+            mValues = Arrays.copyOf(mValues, mValueCount * 2);
+        }
+        mValues[mValueCount++] = value;
+    }
+
+    @Override
+    public void onValueChanged(double value)
+    {
+        mChangedCount++;
+    }
+
+    /**
+     * Replays the trace once. The engine keeps its value between replays.
+     */
+    public Result replay(TouchTrace trace)
+    {
+        getEngine().setWheelRadius(trace.getWheelRadius());
+        mValueCount = 0;
+        mChangedCount = 0;
+        mGesture.cancel();
+
+        final int size = trace.size();
+
+        final long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            mGesture.handle(trace.getAction(i), trace.getX(i), trace.getY(i), false);
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        return new Result(size, elapsed, Arrays.copyOf(mValues, mValueCount), mChangedCount);
+    }
+}
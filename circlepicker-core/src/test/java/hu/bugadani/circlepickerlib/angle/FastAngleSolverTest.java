@@ -0,0 +1,113 @@
+package hu.bugadani.circlepickerlib.angle;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares {@link FastAngleSolver} with {@code Math.atan2}.
+ */
+public class FastAngleSolverTest
+{
+
+    private static final int POINT_COUNT = 1000000;
+
+    /**
+     * Touch coordinates are in pixels, relative to the center of the wheel
+     */
+    private static final float MAX_COORDINATE = 2000;
+
+    private static final int[] STEPS_PER_CYCLE = {4, 12, 36, 100, 360, 1000, 3600};
+
+    private final AngleSolver mSolver = new FastAngleSolver();
+
+    @Test
+    public void errorIsWithinBound()
+    {
+        final Random random = new Random(1);
+        for (int i = 0; i < POINT_COUNT; i++) {
+            final float x = randomCoordinate(random);
+            final float y = randomCoordinate(random);
+
+            final double error = Math.abs(mSolver.atan2Degrees(y, x) - Math.toDegrees(Math.atan2(y, x)));
+            assertTrue("Error " + error + " at (" + x + ", " + y + ")", error <= mSolver.getMaxError());
+        }
+    }
+
+    @Test
+    public void selectsSameStepsAsAtan2()
+    {
+        final Random random = new Random(2);
+        for (int stepsPerCycle : STEPS_PER_CYCLE) {
+            final double stepAngle = 360d / stepsPerCycle;
+            for (int i = 0; i < POINT_COUNT; i++) {
+                final float x = randomCoordinate(random);
+                final float y = randomCoordinate(random);
+                final double offset = 90 - random.nextInt(360);
+
+                final double angle = mSolver.atan2Degrees(y, x, offset, stepAngle, 0);
+                final double exactAngle = Math.toDegrees(Math.atan2(y, x)) + offset;
+
+                assertEquals(
+                        "Step of (" + x + ", " + y + ") with " + stepsPerCycle + " steps",
+                        Math.round(exactAngle / stepAngle),
+                        Math.round(angle / stepAngle)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void crossesHysteresisBoundariesWithAtan2()
+    {
+        final Random random = new Random(3);
+        for (int stepsPerCycle : STEPS_PER_CYCLE) {
+            final double stepAngle = 360d / stepsPerCycle;
+            final double hysteresis = stepAngle / 4;
+            for (int i = 0; i < POINT_COUNT; i++) {
+                final float x = randomCoordinate(random);
+                final float y = randomCoordinate(random);
+                final double offset = 90 - random.nextInt(360);
+
+                final double angle = mSolver.atan2Degrees(y, x, offset, stepAngle, hysteresis);
+                final double exactAngle = Math.toDegrees(Math.atan2(y, x)) + offset;
+
+                for (double boundary = stepAngle / 2 - hysteresis;
+                     boundary <= stepAngle / 2 + hysteresis;
+                     boundary += hysteresis) {
+                    assertEquals(
+                            "Side of the boundary for (" + x + ", " + y + ") with " + stepsPerCycle + " steps",
+                            Math.floor((exactAngle - boundary) / stepAngle),
+                            Math.floor((angle - boundary) / stepAngle),
+                            0
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void handlesAxesLikeAtan2()
+    {
+        final double[] coordinates = {0d, -0d, 1d, -1d, Double.MIN_VALUE, Double.POSITIVE_INFINITY};
+        for (double x : coordinates) {
+            for (double y : coordinates) {
+                assertEquals(
+                        "Angle of (" + x + ", " + y + ")",
+                        Math.toDegrees(Math.atan2(y, x)),
+                        mSolver.atan2Degrees(y, x),
+                        mSolver.getMaxError()
+                );
+            }
+        }
+        assertTrue(Double.isNaN(mSolver.atan2Degrees(Double.NaN, 1)));
+    }
+
+    private static float randomCoordinate(Random random)
+    {
+        return (random.nextFloat() * 2 - 1) * MAX_COORDINATE;
+    }
+}
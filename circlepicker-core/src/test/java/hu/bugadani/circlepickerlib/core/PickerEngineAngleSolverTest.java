@@ -0,0 +1,109 @@
+package hu.bugadani.circlepickerlib.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import hu.bugadani.circlepickerlib.angle.ExactAngleSolver;
+import hu.bugadani.circlepickerlib.angle.FastAngleSolver;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Replays the same drags through an engine using {@link FastAngleSolver} and one using
+ * {@link ExactAngleSolver}, which must select the same steps.
+ */
+public class PickerEngineAngleSolverTest
+{
+
+    private static final double WHEEL_RADIUS = 300;
+    private static final int DRAG_COUNT = 20000;
+    private static final int MOVES_PER_DRAG = 20;
+
+    /**
+     * Moves jump close to the thresholds which decide whether the pointer went backwards or forwards,
+     * or whether the touch is before or after the selected value
+     */
+    private static final double[] MOVE_THRESHOLDS = {-90, 270};
+    private static final double[] TOUCH_THRESHOLDS = {-180, 180};
+
+    /**
+     * Distance from the thresholds, a few times the error of the fast solver
+     */
+    private static final double NEAR = 0.005;
+
+    private static PickerEngine createEngine(double min, double max, double hysteresis, boolean fast)
+    {
+        final PickerEngine engine = new PickerEngine();
+        engine.configure(min, max, 1, 36, 0, 0);
+        engine.setWheelRadius(WHEEL_RADIUS);
+        engine.setHysteresis(hysteresis);
+        engine.setAngleSolver(fast ? new FastAngleSolver() : new ExactAngleSolver());
+        return engine;
+    }
+
+    private static float x(double angle)
+    {
+        return (float) (WHEEL_RADIUS * Math.sin(Math.toRadians(angle)));
+    }
+
+    private static float y(double angle)
+    {
+        return (float) (-WHEEL_RADIUS * Math.cos(Math.toRadians(angle)));
+    }
+
+    private static double near(Random random, double[] thresholds)
+    {
+        return thresholds[random.nextInt(thresholds.length)] + (random.nextDouble() * 2 - 1) * NEAR;
+    }
+
+    private static void replay(double min, double max, double hysteresis, long seed)
+    {
+        final PickerEngine fast = createEngine(min, max, hysteresis, true);
+        final PickerEngine exact = createEngine(min, max, hysteresis, false);
+
+        final Random random = new Random(seed);
+        for (int drag = 0; drag < DRAG_COUNT; drag++) {
+            //Touch the wheel about half a turn away from the selected value, or anywhere
+            double angle = random.nextBoolean()
+                    ? exact.getAngleInCycle() + near(random, TOUCH_THRESHOLDS)
+                    : random.nextDouble() * 360;
+            float x = x(angle);
+            float y = y(angle);
+            fast.handleTouch(x, y);
+            exact.handleTouch(x, y);
+            assertEquals("Touch of drag " + drag, exact.getStepIndex(), fast.getStepIndex());
+
+            for (int move = 0; move < MOVES_PER_DRAG; move++) {
+                //Jumps near the thresholds, or turns forwards and backwards less than the thresholds
+                angle += random.nextBoolean()
+                        ? near(random, MOVE_THRESHOLDS)
+                        : random.nextDouble() * 180 - 60;
+                x = x(angle);
+                y = y(angle);
+                fast.handleDrag(x, y);
+                exact.handleDrag(x, y);
+                assertEquals("Move " + move + " of drag " + drag, exact.getStepIndex(), fast.getStepIndex());
+            }
+        }
+    }
+
+    @Test
+    public void unlimitedDragsSelectSameSteps()
+    {
+        replay(-Float.MAX_VALUE, Float.MAX_VALUE, 0, 1);
+    }
+
+    @Test
+    public void limitedDragsSelectSameSteps()
+    {
+        //The pointer goes more than a turn past the limits
+        replay(0, 72, 0, 2);
+    }
+
+    @Test
+    public void hysteresisDragsSelectSameSteps()
+    {
+        replay(-Float.MAX_VALUE, Float.MAX_VALUE, 2, 3);
+    }
+}
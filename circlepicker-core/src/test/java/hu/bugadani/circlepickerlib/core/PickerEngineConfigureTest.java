@@ -0,0 +1,86 @@
+package hu.bugadani.circlepickerlib.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class PickerEngineConfigureTest
+{
+
+    private static final double[][] CONFIGURATIONS = {
+            //min, max, step, cycle, rotation, value
+            {0, 100, 1, 0, 0, 42},
+            {-180, 180, 15, 0, 90, -45},
+            {0.1, 10, 0.1f, 0, 0, 3.3},
+            {-Float.MAX_VALUE, Float.MAX_VALUE, 0.5f, 12, 180, -1000.5},
+            {0, 100, 0.25f, 10, 0, 250},
+            {0, 50, 2, 0, 45, -3},
+    };
+
+    @Test
+    public void configureMatchesSetters()
+    {
+        for (double[] configuration : CONFIGURATIONS) {
+            final PickerEngine expected = new PickerEngine();
+            expected.setMaxValue(configuration[1]);
+            expected.setMinValue(configuration[0]);
+            expected.setStep((float) configuration[2]);
+            expected.setCycleValue(configuration[3]);
+            expected.setWheelRotation((int) configuration[4]);
+            expected.setValue(configuration[5]);
+
+            //Start from a different configuration, like a recycled view
+            final PickerEngine actual = new PickerEngine();
+            actual.configure(-10, 10, 3, 7, 30, 5);
+            actual.configure(
+                    configuration[0],
+                    configuration[1],
+                    (float) configuration[2],
+                    configuration[3],
+                    (int) configuration[4],
+                    configuration[5]
+            );
+
+            assertEquals(expected.getValue(), actual.getValue(), 0);
+            assertEquals(expected.getStepIndex(), actual.getStepIndex());
+            assertEquals(expected.getAngle(), actual.getAngle(), 0);
+            assertEquals(expected.getDegreePerStep(), actual.getDegreePerStep(), 0);
+            assertEquals(expected.getWheelRotation(), actual.getWheelRotation());
+            assertEquals(expected.getCycleValue(), actual.getCycleValue(), 0);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void configureRequiresLimitsOrCycleValue()
+    {
+        new PickerEngine().configure(-Float.MAX_VALUE, Float.MAX_VALUE, 1, 0, 0, 0);
+    }
+
+    @Test
+    public void invalidConfigurationLeavesEngineUnchanged()
+    {
+        final PickerEngine engine = new PickerEngine();
+        engine.configure(0, 100, 5, 0, 90, 25);
+
+        final double[][] invalid = {
+                {-Float.MAX_VALUE, Float.MAX_VALUE, 1, 0},
+                {100, 0, 1, 0},
+                {0, 100, 0, 0},
+                {0, 100, -1, 0},
+        };
+        for (double[] configuration : invalid) {
+            try {
+                engine.configure(configuration[0], configuration[1], (float) configuration[2], configuration[3], 0, 0);
+                fail();
+            } catch (RuntimeException e) {
+                //Expected
+            }
+            assertEquals(0, engine.getMinValue(), 0);
+            assertEquals(100, engine.getMaxValue(), 0);
+            assertEquals(5, engine.getStep(), 0);
+            assertEquals(90, engine.getWheelRotation());
+            assertEquals(25, engine.getValue(), 0);
+        }
+    }
+}
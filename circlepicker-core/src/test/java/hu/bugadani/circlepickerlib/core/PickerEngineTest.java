@@ -0,0 +1,101 @@
+package hu.bugadani.circlepickerlib.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PickerEngineTest
+{
+
+    private static final double WHEEL_RADIUS = 100;
+
+    /**
+     * The drag moves the pointer this much per event, less than the 90° a move may jump backwards
+     */
+    private static final double DRAG_INCREMENT = 45;
+
+    private static PickerEngine createDecimalEngine()
+    {
+        final PickerEngine engine = new PickerEngine();
+        engine.configure(-Float.MAX_VALUE, Float.MAX_VALUE, 0.1f, 10, 0, 0);
+        engine.setWheelRadius(WHEEL_RADIUS);
+        return engine;
+    }
+
+    private static float x(double angle)
+    {
+        return (float) (WHEEL_RADIUS * Math.sin(Math.toRadians(angle)));
+    }
+
+    private static float y(double angle)
+    {
+        return (float) (-WHEEL_RADIUS * Math.cos(Math.toRadians(angle)));
+    }
+
+    /**
+     * Drags the pointer from the given angle by whole turns, forwards for positive turns
+     */
+    private static void turn(PickerEngine engine, double angle, int turns)
+    {
+        final int moves = (int) (Math.abs(turns) * 360 / DRAG_INCREMENT);
+        final double increment = turns > 0 ? DRAG_INCREMENT : -DRAG_INCREMENT;
+        for (int i = 1; i <= moves; i++) {
+            final double current = angle + i * increment;
+            engine.handleDrag(x(current), y(current));
+        }
+    }
+
+    @Test
+    public void decimalStepsAreExact()
+    {
+        final PickerEngine engine = createDecimalEngine();
+
+        engine.setValue(0.3);
+        assertEquals(3, engine.getStepIndex());
+        assertEquals(0.3, engine.getValue(), 0);
+
+        //Three steps of 0.1 selected by dragging
+        engine.setValue(0);
+        final double angle = 3 * engine.getDegreePerStep();
+        assertEquals(PickerEngine.TouchPosition.OnWheel, engine.handleTouch(x(angle), y(angle)));
+        engine.handleDrag(x(angle), y(angle));
+        assertEquals(3, engine.getStepIndex());
+        assertEquals(0.3, engine.getValue(), 0);
+    }
+
+    @Test
+    public void decimalCycleHasWholeSteps()
+    {
+        final PickerEngine engine = createDecimalEngine();
+
+        assertEquals(360d / 100, engine.getDegreePerStep(), 0);
+
+        engine.setValue(10);
+        assertEquals(100, engine.getStepIndex());
+        assertEquals(10, engine.getValue(), 0);
+        assertEquals(0, engine.getAngleInCycle(), 0);
+    }
+
+    @Test
+    public void manyTurnsKeepValueAndAngleExact()
+    {
+        final int turns = 100000;
+        final PickerEngine engine = createDecimalEngine();
+
+        final double angle = 3 * engine.getDegreePerStep();
+        engine.handleTouch(x(angle), y(angle));
+        engine.handleDrag(x(angle), y(angle));
+        final double angleInCycle = engine.getAngleInCycle();
+        assertEquals(0.3, engine.getValue(), 0);
+
+        turn(engine, angle, turns);
+        assertEquals(turns * 100L + 3, engine.getStepIndex());
+        assertEquals(1000000.3, engine.getValue(), 0);
+        assertEquals(angleInCycle, engine.getAngleInCycle(), 0);
+
+        turn(engine, angle, -turns);
+        assertEquals(3, engine.getStepIndex());
+        assertEquals(0.3, engine.getValue(), 0);
+        assertEquals(angleInCycle, engine.getAngleInCycle(), 0);
+    }
+}
@@ -0,0 +1,138 @@
+package hu.bugadani.circlepickerlib.formatter;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the compiled patterns with {@code String.format}.
+ */
+public class SimpleValueFormatterTest
+{
+
+    private static final String[] PATTERNS = {
+            "%f",
+            "%.0f",
+            "%.1f",
+            "%.2f",
+            "%.3f",
+            "%.9f",
+            "%.0f°",
+            "Value: %.2f %%",
+            //Not compilable, passed to String.format
+            "%5.2f",
+    };
+
+    private static final Locale[] LOCALES = {
+            Locale.US,
+            Locale.GERMANY,
+            new Locale("ar", "EG"),
+    };
+
+    private static final int RANDOM_VALUES = 20000;
+
+    private static List<Double> createValues()
+    {
+        final List<Double> values = new ArrayList<Double>();
+        final double[] special = {
+                0, -0.0, 0.5, -0.5, 1.5, 2.5, 0.125, 1.005, 0.045, 0.05,
+                0.49999999999999994, 0.4999999999999999, 0.5000000000000001,
+                Double.MIN_VALUE, -Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE,
+                1e9, 999999999.5, 1e15, 1e20, -1e20,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+        };
+        for (double value : special) {
+            values.add(value);
+        }
+
+        //The rounding boundaries of every precision and their neighbours
+        for (long scale = 1; scale <= 1000000000L; scale *= 10) {
+            for (int k = 0; k < 200; k++) {
+                final double boundary = (k + 0.5) / scale;
+                values.add(boundary);
+                values.add(Math.nextUp(boundary));
+                values.add(Math.nextAfter(boundary, Double.NEGATIVE_INFINITY));
+                values.add(-boundary);
+            }
+        }
+
+        final Random random = new Random(42);
+        for (int i = 0; i < RANDOM_VALUES; i++) {
+            switch (i % 4) {
+                case 0:
+                    values.add(random.nextDouble());
+                    break;
+                case 1:
+                    values.add((random.nextDouble() - 0.5) * 2000);
+                    break;
+                case 2:
+                    //Decimal values, as typed in a layout
+                    values.add(Math.round((random.nextDouble() - 0.5) * 2e6) / 1000d);
+                    break;
+                default:
+                    values.add(Double.longBitsToDouble(random.nextLong()));
+                    break;
+            }
+        }
+        return values;
+    }
+
+    @Test
+    public void matchesStringFormat()
+    {
+        final Locale defaultLocale = Locale.getDefault();
+        final List<Double> values = createValues();
+        final StringBuilder builder = new StringBuilder();
+        try {
+            for (Locale locale : LOCALES) {
+                Locale.setDefault(locale);
+                for (String pattern : PATTERNS) {
+                    final SimpleValueFormatter formatter = new SimpleValueFormatter(pattern);
+                    for (double value : values) {
+                        final String expected = String.format(pattern, value);
+                        final String message = locale + " " + pattern + " " + value;
+
+                        assertEquals(message, expected, formatter.format(value));
+
+                        builder.setLength(0);
+                        formatter.formatTo(value, builder);
+                        assertEquals(message, expected, builder.toString());
+                    }
+                }
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void usesFormatLocale()
+    {
+        final Locale defaultLocale = Locale.getDefault();
+        final Locale formatLocale = Locale.getDefault(Locale.Category.FORMAT);
+        final StringBuilder builder = new StringBuilder();
+        try {
+            //Only the FORMAT category differs, which String.format uses
+            Locale.setDefault(Locale.US);
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+            for (String pattern : PATTERNS) {
+                final SimpleValueFormatter formatter = new SimpleValueFormatter(pattern);
+                final String expected = String.format(pattern, 1.5);
+
+                assertEquals(pattern, expected, formatter.format(1.5));
+
+                builder.setLength(0);
+                formatter.formatTo(1.5, builder);
+                assertEquals(pattern, expected, builder.toString());
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+            Locale.setDefault(Locale.Category.FORMAT, formatLocale);
+        }
+    }
+}
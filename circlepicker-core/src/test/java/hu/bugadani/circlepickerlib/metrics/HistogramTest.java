@@ -0,0 +1,67 @@
+package hu.bugadani.circlepickerlib.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistogramTest
+{
+
+    @Test
+    public void bucketsArePowersOfTwo()
+    {
+        assertEquals(0, Histogram.getBucket(0));
+        assertEquals(1, Histogram.getBucket(1));
+        assertEquals(2, Histogram.getBucket(2));
+        assertEquals(2, Histogram.getBucket(3));
+        assertEquals(3, Histogram.getBucket(4));
+        assertEquals(Histogram.BUCKET_COUNT - 1, Histogram.getBucket(Long.MAX_VALUE));
+
+        for (int bucket = 1; bucket < Histogram.BUCKET_COUNT - 1; bucket++) {
+            final long upperBound = Histogram.getBucketUpperBound(bucket);
+            assertEquals(bucket, Histogram.getBucket(upperBound));
+            assertEquals(bucket + 1, Histogram.getBucket(upperBound + 1));
+        }
+    }
+
+    @Test
+    public void percentilesAreUpperBounds()
+    {
+        final Histogram histogram = new Histogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean(), 0);
+        for (double percentile = 1; percentile <= 100; percentile++) {
+            final long exact = (long) Math.ceil(10 * percentile);
+            final long bound = histogram.getPercentile(percentile);
+            assertTrue(percentile + ": " + bound, bound >= exact && bound < 2 * exact);
+        }
+        assertEquals(1000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void resetAndCopy()
+    {
+        final Histogram histogram = new Histogram();
+        histogram.record(-5);
+        histogram.record(100);
+
+        final Histogram copy = new Histogram();
+        copy.set(histogram);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(2, copy.getCount());
+        assertEquals(0, copy.getMin());
+        assertEquals(100, copy.getMax());
+        assertEquals(1, copy.getBucketCount(0));
+    }
+}
@@ -0,0 +1,140 @@
+package hu.bugadani.circlepickerlib.trace;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import hu.bugadani.circlepickerlib.angle.ExactAngleSolver;
+import hu.bugadani.circlepickerlib.angle.FastAngleSolver;
+import hu.bugadani.circlepickerlib.core.PickerEngine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TouchTraceTest
+{
+
+    private static final float WHEEL_RADIUS = 150;
+
+    /**
+     * Records a few turns forwards and back on a jittery circle, split into several gestures
+     */
+    static TouchTrace createTrace(long seed)
+    {
+        final Random random = new Random(seed);
+        final TouchTrace.Recorder recorder = new TouchTrace.Recorder();
+        recorder.setWheelRadius(WHEEL_RADIUS);
+
+        long time = 1000;
+        double angle = random.nextDouble() * 2 * Math.PI;
+        for (int gesture = 0; gesture < 5; gesture++) {
+            final int moves = 100 + random.nextInt(200);
+            final double speed = (random.nextDouble() - 0.5) * 0.2;
+            for (int i = 0; i <= moves + 1; i++) {
+                final int action;
+                if (i == 0) {
+                    action = TouchTrace.ACTION_DOWN;
+                } else if (i == moves + 1) {
+                    action = TouchTrace.ACTION_UP;
+                } else {
+                    action = TouchTrace.ACTION_MOVE;
+                }
+                final double radius = WHEEL_RADIUS + random.nextGaussian() * 5;
+                recorder.record(
+                        time,
+                        action,
+                        (float) (radius * Math.sin(angle)),
+                        (float) (-radius * Math.cos(angle))
+                );
+                time += 8 + random.nextInt(9);
+                angle += speed;
+            }
+            time += 500;
+        }
+        return recorder.toTrace();
+    }
+
+    private static TouchTraceReplayer createReplayer()
+    {
+        final TouchTraceReplayer replayer = new TouchTraceReplayer();
+        final PickerEngine engine = replayer.getEngine();
+        engine.setStep(0.1f);
+        engine.setMinValue(-Float.MAX_VALUE);
+        engine.setMaxValue(Float.MAX_VALUE);
+        engine.setCycleValue(10);
+        return replayer;
+    }
+
+    @Test
+    public void writeAndReadBack() throws IOException
+    {
+        final TouchTrace trace = createTrace(1);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trace.writeTo(out);
+        final TouchTrace read = TouchTrace.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(trace.getWheelRadius(), read.getWheelRadius(), 0);
+        assertEquals(trace.size(), read.size());
+        for (int i = 0; i < trace.size(); i++) {
+            assertEquals(trace.getTime(i), read.getTime(i));
+            assertEquals(trace.getAction(i), read.getAction(i));
+            assertEquals(trace.getX(i), read.getX(i), 0);
+            assertEquals(trace.getY(i), read.getY(i), 0);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherData() throws IOException
+    {
+        TouchTrace.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnmaskedActions()
+    {
+        //ACTION_POINTER_DOWN of the second pointer, with the pointer index bits
+        new TouchTrace.Recorder().record(0, 0x0105, 0, 0);
+    }
+
+    @Test
+    public void replayIsDeterministic()
+    {
+        final TouchTrace trace = createTrace(2);
+
+        final TouchTraceReplayer.Result first = createReplayer().replay(trace);
+        final TouchTraceReplayer.Result second = createReplayer().replay(trace);
+
+        assertEquals(trace.size(), first.getEventCount());
+        assertTrue(first.getValues().length > 0);
+        assertArrayEquals(first.getValues(), second.getValues(), 0);
+        assertEquals(first.getListenerInvocations(), second.getListenerInvocations());
+    }
+
+    @Test
+    public void changedIsReportedOncePerGesture()
+    {
+        final TouchTraceReplayer.Result result = createReplayer().replay(createTrace(3));
+
+        assertEquals(result.getValues().length + 5, result.getListenerInvocations());
+    }
+
+    @Test
+    public void angleSolverDoesNotChangeValues()
+    {
+        for (long seed = 10; seed < 20; seed++) {
+            final TouchTrace trace = createTrace(seed);
+
+            final TouchTraceReplayer exact = createReplayer();
+            exact.getEngine().setAngleSolver(new ExactAngleSolver());
+            final TouchTraceReplayer fast = createReplayer();
+            fast.getEngine().setAngleSolver(new FastAngleSolver());
+
+            assertArrayEquals(exact.replay(trace).getValues(), fast.replay(trace).getValues(), 0);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package hu.bugadani.circlepickerlib;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.test.InstrumentationTestCase;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * Measures the time to inflate a picker, and the time to give it a new style and draw its first frame, for a
+ * minimal picker (no pointer, value text, dividers or label) and for a picker with every feature enabled.
+ * <p/>
+ * Inflation is timed on its own, it builds the style of the layout attributes, which is interned after the
+ * first sample, like in an app inflating the same layout repeatedly. The styled samples then give the picker a
+ * style no other picker uses, so they include creating its paints. The first sample of each layout also
+ * includes loading the classes and is reported separately.
+ * <p/>
+ * Run with {@code ./gradlew :circlepickerlib:connectedAndroidTest}, the results are logged with the
+ * {@code InflationBenchmark} tag.
+ */
+public class InflationBenchmark extends InstrumentationTestCase
+{
+
+    private static final String TAG = "InflationBenchmark";
+
+    private static final int ITERATIONS = 50;
+    private static final int CANVAS_SIZE = 1024;
+
+    private LayoutInflater mInflater;
+    private Canvas mCanvas;
+
+    /**
+     * Makes the style of each sample distinct
+     */
+    private int mStyleCounter;
+
+    @Override
+    protected void setUp() throws Exception
+    {
+        super.setUp();
+        mInflater = LayoutInflater.from(getInstrumentation().getContext());
+        mCanvas = new Canvas(Bitmap.createBitmap(CANVAS_SIZE, CANVAS_SIZE, Bitmap.Config.ARGB_8888));
+    }
+
+    public void testMinimalPicker()
+    {
+        benchmark("minimal", hu.bugadani.circlepickerlib.test.R.layout.benchmark_minimal_picker);
+    }
+
+    public void testFullPicker()
+    {
+        benchmark("full", hu.bugadani.circlepickerlib.test.R.layout.benchmark_full_picker);
+    }
+
+    private void benchmark(String name, int layout)
+    {
+        long start = System.nanoTime();
+        final CirclePickerView firstView = inflate(layout);
+        final long firstInflation = System.nanoTime() - start;
+        final long firstDraw = styleAndDraw(firstView);
+
+        final long[] inflation = new long[ITERATIONS];
+        final long[] styled = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            start = System.nanoTime();
+            final CirclePickerView view = inflate(layout);
+            inflation[i] = System.nanoTime() - start;
+
+            styled[i] = styleAndDraw(view);
+        }
+        Arrays.sort(inflation);
+        Arrays.sort(styled);
+
+        Log.i(TAG, name + ": first inflation " + firstInflation / 1000
+                + " us, first draw " + firstDraw / 1000 + " us"
+                + ", inflation median " + inflation[ITERATIONS / 2] / 1000
+                + " us, p90 " + inflation[ITERATIONS * 9 / 10] / 1000 + " us"
+                + ", styled draw median " + styled[ITERATIONS / 2] / 1000
+                + " us, p90 " + styled[ITERATIONS * 9 / 10] / 1000 + " us");
+    }
+
+    private CirclePickerView inflate(int layout)
+    {
+        return (CirclePickerView) mInflater.inflate(layout, null);
+    }
+
+    /**
+     * @return The time to build and set a new style, then measure, lay out and draw the picker
+     */
+    private long styleAndDraw(CirclePickerView view)
+    {
+        final long start = System.nanoTime();
+
+        final CirclePickerStyle style = new CirclePickerStyle.Builder(view.getStyle())
+                .setWheelBackgroundColor(0xff000000 | (mStyleCounter++ & 0xffffff))
+                .build();
+        view.setStyle(style);
+        final int measureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        view.measure(measureSpec, measureSpec);
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        view.draw(mCanvas);
+
+        final long duration = System.nanoTime() - start;
+        assertTrue(view.getMeasuredWidth() > 0);
+        return duration;
+    }
+}
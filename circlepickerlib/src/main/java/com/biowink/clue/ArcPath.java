@@ -0,0 +1,10 @@
+package com.biowink.clue;
+
+import android.graphics.Path;
+
+/**
+ * A {@code Path} which {@link ArcUtils} can add arcs to directly, without wrapping it into a {@link PathSink}.
+ */
+public class ArcPath extends Path implements PathSink
+{
+}
@@ -29,12 +29,8 @@ import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PointF;
 
-import static java.lang.Math.abs;
-import static java.lang.Math.ceil;
 import static java.lang.Math.cos;
-import static java.lang.Math.floor;
 import static java.lang.Math.sin;
-import static java.lang.Math.sqrt;
 import static java.lang.Math.toRadians;
 
 /**
@@ -48,7 +44,16 @@ import static java.lang.Math.toRadians;
 public final class ArcUtils
 {
 
-    private static final double FULL_CIRCLE_RADIANS = toRadians(360d);
+    /**
+     * Minimum size of the scratch buffer required by the allocation-free methods: the coordinates of the start and
+     * the end point of the current arc segment.
+     */
+    public static final int ARC_POINTS_SIZE = BezierArc.ARC_POINTS_SIZE;
+
+    /**
+     * The largest {@code pointsOnCircle} value for which precomputed unit circle segments are used.
+     */
+    public static final int MAX_TABLE_POINTS_ON_CIRCLE = BezierArc.MAX_TABLE_POINTS_ON_CIRCLE;
 
     private ArcUtils()
     {
@@ -98,6 +103,60 @@ public final class ArcUtils
         }
     }
 
+    /**
+     * Draws a circular arc on the given {@code Canvas} without allocating any objects.
+     *
+     * @param canvas       The canvas to draw into.
+     * @param centerX      The X coordinate of the center of the circle on which to draw the arc.
+     * @param centerY      The Y coordinate of the center of the circle on which to draw the arc.
+     * @param circleRadius The radius of the circle on which to draw the arc.
+     * @param startAngle   Starting angle (in degrees) where the arc begins.
+     * @param sweepAngle   Sweep angle (in degrees) measured clockwise.
+     * @param paint        The paint to use then drawing the arc.
+     * @param path         A caller-owned {@link ArcPath} which will be reset and used to build the arc.
+     * @param points       Scratch buffer of at least {@link #ARC_POINTS_SIZE} elements.
+     * @see #drawArc(android.graphics.Canvas, float, float, float, float, float, android.graphics.Paint, int, boolean,
+     * ArcPath, float[])
+     */
+    public static void drawArc(Canvas canvas, float centerX, float centerY, float circleRadius,
+                               float startAngle, float sweepAngle, Paint paint,
+                               ArcPath path, float[] points)
+    {
+        drawArc(canvas, centerX, centerY, circleRadius, startAngle, sweepAngle, paint, 8, false, path, points);
+    }
+
+    /**
+     * Draws a circular arc on the given {@code Canvas} without allocating any objects.
+     *
+     * @param canvas             The canvas to draw into.
+     * @param centerX            The X coordinate of the center of the circle on which to draw the arc.
+     * @param centerY            The Y coordinate of the center of the circle on which to draw the arc.
+     * @param circleRadius       The radius of the circle on which to draw the arc.
+     * @param startAngle         Starting angle (in degrees) where the arc begins.
+     * @param sweepAngle         Sweep angle (in degrees) measured clockwise.
+     * @param paint              The paint to use then drawing the arc.
+     * @param arcsPointsOnCircle See {@link #createBezierArcDegrees(android.graphics.PointF, float, float, float, int, boolean, android.graphics.Path)}.
+     * @param arcsOverlayPoints  See {@link #createBezierArcDegrees(android.graphics.PointF, float, float, float, int, boolean, android.graphics.Path)}.
+     * @param path               A caller-owned {@link ArcPath} which will be reset and used to build the arc.
+     * @param points             Scratch buffer of at least {@link #ARC_POINTS_SIZE} elements.
+     * @see #drawArc(android.graphics.Canvas, float, float, float, float, float, android.graphics.Paint,
+     * ArcPath, float[])
+     */
+    public static void drawArc(Canvas canvas, float centerX, float centerY, float circleRadius,
+                               float startAngle, float sweepAngle, Paint paint,
+                               int arcsPointsOnCircle, boolean arcsOverlayPoints,
+                               ArcPath path, float[] points)
+    {
+        if (sweepAngle == 0f) {
+            pointFromAngleRadians(centerX, centerY, circleRadius, toRadians(startAngle), points, 0);
+            canvas.drawPoint(points[0], points[1], paint);
+        } else {
+            canvas.drawPath(createBezierArcDegrees(
+                    centerX, centerY, circleRadius, startAngle, sweepAngle,
+                    arcsPointsOnCircle, arcsOverlayPoints, path, points), paint);
+        }
+    }
+
     /**
      * Normalize the input radians in the range 360° > x >= 0°.
      *
@@ -106,14 +165,7 @@ public final class ArcUtils
      */
     public static double normalizeRadians(double radians)
     {
-        radians %= FULL_CIRCLE_RADIANS;
-        if (radians < 0d) {
-            radians += FULL_CIRCLE_RADIANS;
-        }
-        if (radians == FULL_CIRCLE_RADIANS) {
-            radians = 0d;
-        }
-        return radians;
+        return BezierArc.normalizeRadians(radians);
     }
 
     /**
@@ -145,6 +197,23 @@ public final class ArcUtils
         return pointFromAngleRadians(center, radius, toRadians(angleDegrees));
     }
 
+    /**
+     * Computes the point of a given angle (in radians) on a circle and stores its coordinates in {@code out}.
+     *
+     * @param centerX      The X coordinate of the center of the circle.
+     * @param centerY      The Y coordinate of the center of the circle.
+     * @param radius       The radius of the circle.
+     * @param angleRadians The angle (in radians).
+     * @param out          The array to store the X and Y coordinates in.
+     * @param offset       Index of the X coordinate in {@code out}, the Y coordinate is stored after it.
+     * @see #pointFromAngleRadians(android.graphics.PointF, float, double)
+     */
+    public static void pointFromAngleRadians(float centerX, float centerY, float radius, double angleRadians,
+                                             float[] out, int offset)
+    {
+        BezierArc.pointFromAngleRadians(centerX, centerY, radius, angleRadians, out, offset);
+    }
+
     /**
      * Adds a circular arc to the given path by approximating it through a cubic Bézier curve.
      * <p/>
@@ -175,26 +244,31 @@ public final class ArcUtils
     public static void addBezierArcToPath(Path path, PointF center,
                                           PointF start, PointF end, boolean moveToStart)
     {
-        if (moveToStart) {
-            path.moveTo(start.x, start.y);
-        }
-        if (start.equals(end)) {
-            return;
-        }
-
-        final double ax = start.x - center.x;
-        final double ay = start.y - center.y;
-        final double bx = end.x - center.x;
-        final double by = end.y - center.y;
-        final double q1 = ax * ax + ay * ay;
-        final double q2 = q1 + ax * bx + ay * by;
-        final double k2 = 4d / 3d * (sqrt(2d * q1 * q2) - q2) / (ax * by - ay * bx);
-        final float  x2 = (float) (center.x + ax - k2 * ay);
-        final float  y2 = (float) (center.y + ay + k2 * ax);
-        final float  x3 = (float) (center.x + bx + k2 * by);
-        final float  y3 = (float) (center.y + by - k2 * bx);
+        addBezierArcToPath(path, center.x, center.y, start.x, start.y, end.x, end.y, moveToStart);
+    }
 
-        path.cubicTo(x2, y2, x3, y3, end.x, end.y);
+    /**
+     * Adds a circular arc to the given path by approximating it through a cubic Bézier curve.
+     * <p/>
+     * This is the primitive coordinate variant of
+     * {@link #addBezierArcToPath(android.graphics.Path, android.graphics.PointF, android.graphics.PointF,
+     * android.graphics.PointF, boolean)}.
+     *
+     * @param path        The path to add the arc to.
+     * @param centerX     The X coordinate of the center of the circle.
+     * @param centerY     The Y coordinate of the center of the circle.
+     * @param startX      The X coordinate of the starting point of the arc on the circle.
+     * @param startY      The Y coordinate of the starting point of the arc on the circle.
+     * @param endX        The X coordinate of the ending point of the arc on the circle.
+     * @param endY        The Y coordinate of the ending point of the arc on the circle.
+     * @param moveToStart If {@code true}, move to the starting point of the arc
+     *                    (see: {@link android.graphics.Path#moveTo(float, float)}).
+     */
+    public static void addBezierArcToPath(Path path, float centerX, float centerY,
+                                          float startX, float startY, float endX, float endY,
+                                          boolean moveToStart)
+    {
+        BezierArc.addBezierArcToPath(asSink(path), centerX, centerY, startX, startY, endX, endY, moveToStart);
     }
 
     /**
@@ -253,55 +327,115 @@ public final class ArcUtils
                                               double sweepAngleRadians, int pointsOnCircle, boolean overlapPoints,
                                               Path addToPath)
     {
-        final Path path = addToPath != null ? addToPath : new Path();
-        if (sweepAngleRadians == 0d) {
-            return path;
+        final Path path = addToPath != null ? addToPath : new ArcPath();
+        BezierArc.appendBezierArcRadians(center.x, center.y, radius, startAngleRadians, sweepAngleRadians,
+                pointsOnCircle, overlapPoints, asSink(path), new float[ARC_POINTS_SIZE]);
+        return path;
+    }
+
+    /**
+     * Allocation-free variant of
+     * {@link #createBezierArcRadians(android.graphics.PointF, float, double, double, int, boolean,
+     * android.graphics.Path)}: the given path is reset and refilled with the arc.
+     *
+     * @param centerX           The X coordinate of the center of the circle.
+     * @param centerY           The Y coordinate of the center of the circle.
+     * @param radius            The radius of the circle.
+     * @param startAngleRadians The starting angle on the circle (in radians).
+     * @param sweepAngleRadians How long to make the total arc (in radians).
+     * @param pointsOnCircle    See {@link #createBezierArcRadians(android.graphics.PointF, float, double, double, int,
+     *                          boolean, android.graphics.Path)}.
+     * @param overlapPoints     See {@link #createBezierArcRadians(android.graphics.PointF, float, double, double, int,
+     *                          boolean, android.graphics.Path)}.
+     * @param path              A caller-owned {@link ArcPath} which will be reset and used to build the arc.
+     * @param points            Scratch buffer of at least {@link #ARC_POINTS_SIZE} elements. For a non-zero sweep
+     *                          the last two elements hold the end point of the arc after returning.
+     * @return {@code path}
+     */
+    public static Path createBezierArcRadians(float centerX, float centerY, float radius, double startAngleRadians,
+                                              double sweepAngleRadians, int pointsOnCircle, boolean overlapPoints,
+                                              ArcPath path, float[] points)
+    {
+        path.reset();
+        BezierArc.appendBezierArcRadians(centerX, centerY, radius, startAngleRadians, sweepAngleRadians,
+                pointsOnCircle, overlapPoints, path, points);
+        return path;
+    }
+
+    /**
+     * Allocation-free variant of
+     * {@link #createBezierArcDegrees(android.graphics.PointF, float, float, float, int, boolean,
+     * android.graphics.Path)}: the given path is reset and refilled with the arc.
+     *
+     * @param centerX           The X coordinate of the center of the circle.
+     * @param centerY           The Y coordinate of the center of the circle.
+     * @param radius            The radius of the circle.
+     * @param startAngleDegrees The starting angle on the circle (in degrees).
+     * @param sweepAngleDegrees How long to make the total arc (in degrees).
+     * @param pointsOnCircle    See {@link #createBezierArcDegrees(android.graphics.PointF, float, float, float, int,
+     *                          boolean, android.graphics.Path)}.
+     * @param overlapPoints     See {@link #createBezierArcDegrees(android.graphics.PointF, float, float, float, int,
+     *                          boolean, android.graphics.Path)}.
+     * @param path              A caller-owned {@link ArcPath} which will be reset and used to build the arc.
+     * @param points            Scratch buffer of at least {@link #ARC_POINTS_SIZE} elements. For a non-zero sweep
+     *                          the last two elements hold the end point of the arc after returning.
+     * @return {@code path}
+     */
+    public static Path createBezierArcDegrees(float centerX, float centerY, float radius, float startAngleDegrees,
+                                              float sweepAngleDegrees, int pointsOnCircle, boolean overlapPoints,
+                                              ArcPath path, float[] points)
+    {
+        return createBezierArcRadians(centerX, centerY, radius, toRadians(startAngleDegrees),
+                toRadians(sweepAngleDegrees), pointsOnCircle, overlapPoints, path, points);
+    }
+
+    /**
+     * Computes the point of a given angle (in degrees) on a circle, looking it up in the unit circle table of
+     * {@code pointsOnCircle} when the angle lies on a segment boundary.
+     *
+     * @param centerX        The X coordinate of the center of the circle.
+     * @param centerY        The Y coordinate of the center of the circle.
+     * @param radius         The radius of the circle.
+     * @param angleDegrees   The angle (in degrees).
+     * @param pointsOnCircle The number of segments of the table to use.
+     * @param out            The array to store the X and Y coordinates in.
+     * @param offset         Index of the X coordinate in {@code out}, the Y coordinate is stored after it.
+     */
+    public static void pointFromAngleDegrees(float centerX, float centerY, float radius, float angleDegrees,
+                                             int pointsOnCircle, float[] out, int offset)
+    {
+        BezierArc.pointFromAngleDegrees(centerX, centerY, radius, angleDegrees, pointsOnCircle, out, offset);
+    }
+
+    /**
+     * Returns {@code path} as a {@code PathSink}, wrapping it unless it already is one (like {@link ArcPath}).
+     */
+    private static PathSink asSink(Path path)
+    {
+        return path instanceof PathSink ? (PathSink) path : new PathAdapter(path);
+    }
+
+    private static final class PathAdapter implements PathSink
+    {
+
+        private final Path mPath;
+
+        PathAdapter(Path path)
+        {
+            mPath = path;
         }
 
-        if (pointsOnCircle >= 1) {
-            final double threshold = FULL_CIRCLE_RADIANS / pointsOnCircle;
-            if (abs(sweepAngleRadians) > threshold) {
-                double angle = normalizeRadians(startAngleRadians);
-                PointF end, start = pointFromAngleRadians(center, radius, angle);
-                path.moveTo(start.x, start.y);
-                if (overlapPoints) {
-                    final boolean cw = sweepAngleRadians > 0; // clockwise?
-                    final double angleEnd = angle + sweepAngleRadians;
-                    while (true) {
-                        double next = (cw ? ceil(angle / threshold) : floor(angle / threshold)) *
-                                      threshold;
-                        if (angle == next) {
-                            next += threshold * (cw ? 1d : -1d);
-                        }
-                        final boolean isEnd = cw ? angleEnd <= next : angleEnd >= next;
-                        end = pointFromAngleRadians(center, radius, isEnd ? angleEnd : next);
-                        addBezierArcToPath(path, center, start, end, false);
-                        if (isEnd) {
-                            break;
-                        }
-                        angle = next;
-                        start = end;
-                    }
-                } else {
-                    final int n = abs((int) ceil(sweepAngleRadians / threshold));
-                    final double sweep = sweepAngleRadians / n;
-                    for (int i = 0;
-                         i < n;
-                         i++, start = end) {
-                        angle += sweep;
-                        end = pointFromAngleRadians(center, radius, angle);
-                        addBezierArcToPath(path, center, start, end, false);
-                    }
-                }
-                return path;
-            }
+        @Override
+        public void moveTo(float x, float y)
+        {
+            mPath.moveTo(x, y);
         }
 
-        final PointF start = pointFromAngleRadians(center, radius, startAngleRadians);
-        final PointF end =
-                pointFromAngleRadians(center, radius, startAngleRadians + sweepAngleRadians);
-        addBezierArcToPath(path, center, start, end, true);
-        return path;
+        @Override
+        public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3)
+        {
+            mPath.cubicTo(x1, y1, x2, y2, x3, y3);
+        }
     }
 
     /**
@@ -0,0 +1,131 @@
+package hu.bugadani.circlepickerlib;
+
+import hu.bugadani.circlepickerlib.metrics.Histogram;
+
+/**
+ * Receives aggregated performance statistics of a {@link CirclePickerView}, see
+ * {@link CirclePickerView#setMetricsListener(CirclePickerMetrics)}.
+ */
+public interface CirclePickerMetrics {
+
+    /**
+     * Called on the UI thread about once per second while the picker is drawn, and when it is detached.
+     * The call is posted after the frame which closed the interval, so it is not part of the draw
+     * durations, but it still runs on the UI thread and must not block.
+     * <p/>
+     * The {@code Stats} instance is reused and reset after this call returns, copy the values which are
+     * needed later.
+     */
+    void onMetrics(CirclePickerView pickerView, Stats stats);
+
+    /**
+     * Statistics collected since the previous report. Durations are in nanoseconds.
+     */
+    final class Stats {
+
+        final Histogram mDrawDurations = new Histogram();
+        final Histogram mTouchLatencies = new Histogram();
+        final Histogram mListenerDurations = new Histogram();
+
+        long mIntervalStart;
+        long mIntervalNanos;
+        int mDraws;
+
+        /**
+         * Cache counters at the start of the interval and their change during the interval
+         */
+        long mTextCacheHitsStart;
+        long mTextCacheMissesStart;
+        long mStaticLayerHitsStart;
+        long mStaticLayerRedrawsStart;
+        long mTextCacheHits;
+        long mTextCacheMisses;
+        long mStaticLayerHits;
+        long mStaticLayerRedraws;
+
+        Stats() {
+        }
+
+        void start(long now, long textCacheHits, long textCacheMisses, long staticLayerHits,
+                   long staticLayerRedraws) {
+            mDrawDurations.reset();
+            mTouchLatencies.reset();
+            mListenerDurations.reset();
+            mDraws = 0;
+
+            mIntervalStart = now;
+            mTextCacheHitsStart = textCacheHits;
+            mTextCacheMissesStart = textCacheMisses;
+            mStaticLayerHitsStart = staticLayerHits;
+            mStaticLayerRedrawsStart = staticLayerRedraws;
+        }
+
+        void finish(long now, long textCacheHits, long textCacheMisses, long staticLayerHits,
+                    long staticLayerRedraws) {
+            mIntervalNanos = now - mIntervalStart;
+            mTextCacheHits = textCacheHits - mTextCacheHitsStart;
+            mTextCacheMisses = textCacheMisses - mTextCacheMissesStart;
+            mStaticLayerHits = staticLayerHits - mStaticLayerHitsStart;
+            mStaticLayerRedraws = staticLayerRedraws - mStaticLayerRedrawsStart;
+        }
+
+        /**
+         * Returns the length of the interval the statistics were collected in
+         */
+        public long getIntervalNanos() {
+            return mIntervalNanos;
+        }
+
+        /**
+         * Returns the durations of {@code onDraw}
+         */
+        public Histogram getDrawDurations() {
+            return mDrawDurations;
+        }
+
+        /**
+         * Returns the times between a touch event and the value change it caused being dispatched to the
+         * {@link CirclePickerView.OnValueChangeListener}, or handed to its {@code Executor}
+         */
+        public Histogram getTouchLatencies() {
+            return mTouchLatencies;
+        }
+
+        /**
+         * Returns the durations of the {@link CirclePickerView.OnValueChangeListener} callbacks. Callbacks
+         * delivered on an {@code Executor} are not measured, this histogram stays empty in that mode.
+         */
+        public Histogram getListenerDurations() {
+            return mListenerDurations;
+        }
+
+        public int getDrawCount() {
+            return mDraws;
+        }
+
+        public double getRedrawsPerSecond() {
+            return mIntervalNanos > 0 ? mDraws * 1e9 / mIntervalNanos : 0;
+        }
+
+        /**
+         * Returns the ratio of the value texts which were found in the text cache, or {@code NaN} if no text
+         * was needed
+         */
+        public double getTextCacheHitRate() {
+            return getRate(mTextCacheHits, mTextCacheMisses);
+        }
+
+        /**
+         * Returns the ratio of the frames which could reuse the static layer, or {@code NaN} if the static
+         * layer cache is disabled
+         */
+        public double getStaticLayerHitRate() {
+            return getRate(mStaticLayerHits, mStaticLayerRedraws);
+        }
+
+        private static double getRate(long hits, long misses) {
+            final long total = hits + misses;
+            return total == 0 ? Double.NaN : (double) hits / total;
+        }
+    }
+}
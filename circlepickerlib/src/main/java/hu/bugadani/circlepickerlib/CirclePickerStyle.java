@@ -0,0 +1,393 @@
+package hu.bugadani.circlepickerlib;
+
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Paint.Align;
+import android.graphics.Paint.Style;
+
+import java.lang.ref.WeakReference;
+import java.util.WeakHashMap;
+
+/**
+ * The look of a {@link CirclePickerView}: colors, stroke widths and text sizes.
+ * <p/>
+ * Styles are immutable and interned: {@link Builder#build()} returns the same instance for the same values, so
+ * pickers with the same style share one set of {@code Paint} objects and font metrics. An interned style is
+ * released when no picker uses it anymore.
+ */
+public final class CirclePickerStyle {
+
+    static final int TEXT_SIZE_DEF_VALUE = 25;
+    static final float WHEEL_STROKE_WIDTH_DEF_VALUE = 8;
+    static final float DIVIDER_WIDTH_DEF_VALUE = 2;
+    static final float POINTER_RADIUS_DEF_VALUE = 8;
+    static final float POINTER_HALO_WIDTH_DEF_VALUE = 10;
+    static final int WHEEL_COLOR_DEF_VALUE = Color.CYAN;
+    static final int WHEEL_BACKGROUND_COLOR_DEF_VALUE = Color.DKGRAY;
+    static final int DIVIDER_COLOR_DEF_VALUE = Color.DKGRAY;
+
+    /**
+     * Interned styles. The keys are weakly referenced, the value refers to the key itself.
+     */
+    private static final WeakHashMap<CirclePickerStyle, WeakReference<CirclePickerStyle>> sInterned =
+            new WeakHashMap<CirclePickerStyle, WeakReference<CirclePickerStyle>>();
+
+    private final int mWheelColor;
+    private final int mWheelBackgroundColor;
+    private final float mWheelWidth;
+    private final int mDividerColor;
+    private final float mDividerWidth;
+    private final int mMinorDividerColor;
+    private final float mMinorDividerWidth;
+    private final int mMajorDividerColor;
+    private final float mMajorDividerWidth;
+    private final int mPointerColor;
+    private final int mPointerHaloColor;
+    private final float mPointerRadius;
+    private final float mPointerHaloWidth;
+    private final int mTextColor;
+    private final int mTextSize;
+    private final int mLabelColor;
+    private final int mLabelSize;
+
+    /**
+     * Shared paints and metrics, only handed out through the getters. They must not be modified.
+     * <p/>
+     * The paints are created with the interned instance, they are {@code null} in the instances only used to
+     * look up the interned one.
+     */
+    private final Paint mWheelBackgroundPaint;
+    private final Paint mWheelColorPaint;
+    private final Paint mDividerPaint;
+    private final Paint mMinorDividerPaint;
+    private final Paint mMajorDividerPaint;
+    private final Paint mPointerHaloPaint;
+    private final Paint mPointerColorPaint;
+    private final Paint mTextPaint;
+    private final Paint mLabelPaint;
+    private final Paint.FontMetrics mTextFontMetrics;
+    private final Paint.FontMetrics mLabelFontMetrics;
+
+    private final int mHashCode;
+
+    private CirclePickerStyle(Builder builder, boolean interned) {
+        mWheelColor = builder.mWheelColor;
+        mWheelBackgroundColor = builder.mWheelBackgroundColor;
+        mWheelWidth = builder.mWheelWidth;
+        mDividerColor = builder.mDividerColor;
+        mDividerWidth = builder.mDividerWidth;
+        mMinorDividerColor = builder.mMinorDividerColor;
+        mMinorDividerWidth = builder.mMinorDividerWidth;
+        mMajorDividerColor = builder.mMajorDividerColor;
+        mMajorDividerWidth = builder.mMajorDividerWidth;
+        mPointerColor = builder.mPointerColor;
+        mPointerHaloColor = builder.mPointerHaloColor;
+        mPointerRadius = builder.mPointerRadius;
+        mPointerHaloWidth = builder.mPointerHaloWidth;
+        mTextColor = builder.mTextColor;
+        mTextSize = builder.mTextSize;
+        mLabelColor = builder.mLabelColor;
+        mLabelSize = builder.mLabelSize;
+        mHashCode = computeHashCode();
+
+        if (interned) {
+            mWheelBackgroundPaint = createStrokePaint(mWheelBackgroundColor, mWheelWidth);
+            mWheelBackgroundPaint.setStyle(Style.STROKE);
+            mWheelColorPaint = createStrokePaint(mWheelColor, mWheelWidth);
+            mWheelColorPaint.setStyle(Style.STROKE);
+
+            mDividerPaint = createStrokePaint(mDividerColor, mDividerWidth);
+            mMinorDividerPaint = createStrokePaint(mMinorDividerColor, mMinorDividerWidth);
+            mMajorDividerPaint = createStrokePaint(mMajorDividerColor, mMajorDividerWidth);
+
+            mPointerHaloPaint = createStrokePaint(mPointerHaloColor, mPointerHaloWidth);
+            mPointerHaloPaint.setStyle(Style.STROKE);
+            mPointerColorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+            mPointerColorPaint.setStyle(Style.FILL);
+            mPointerColorPaint.setColor(mPointerColor);
+
+            mTextPaint = createTextPaint(mTextColor, mTextSize);
+            mTextFontMetrics = mTextPaint.getFontMetrics();
+            mLabelPaint = createTextPaint(mLabelColor, mLabelSize);
+            mLabelFontMetrics = mLabelPaint.getFontMetrics();
+        } else {
+            mWheelBackgroundPaint = null;
+            mWheelColorPaint = null;
+            mDividerPaint = null;
+            mMinorDividerPaint = null;
+            mMajorDividerPaint = null;
+            mPointerHaloPaint = null;
+            mPointerColorPaint = null;
+            mTextPaint = null;
+            mLabelPaint = null;
+            mTextFontMetrics = null;
+            mLabelFontMetrics = null;
+        }
+    }
+
+    /**
+     * Returns the interned instance with the values of {@code builder}, creating it with its paints if it is
+     * new.
+     */
+    private static synchronized CirclePickerStyle intern(Builder builder) {
+        final WeakReference<CirclePickerStyle> reference = sInterned.get(new CirclePickerStyle(builder, false));
+        final CirclePickerStyle interned = reference != null ? reference.get() : null;
+        if (interned != null) {
+            return interned;
+        }
+
+        final CirclePickerStyle style = new CirclePickerStyle(builder, true);
+        sInterned.put(style, new WeakReference<CirclePickerStyle>(style));
+        return style;
+    }
+
+    /**
+     * Returns the paint of the wheel behind the selected range. The paints are shared, they must not be modified.
+     */
+    Paint getWheelBackgroundPaint() {
+        return mWheelBackgroundPaint;
+    }
+
+    /**
+     * Returns the paint of the selected range of the wheel
+     */
+    Paint getWheelColorPaint() {
+        return mWheelColorPaint;
+    }
+
+    /**
+     * Returns the paint of the dividers which are not on a minor or major step
+     */
+    Paint getDividerPaint() {
+        return mDividerPaint;
+    }
+
+    Paint getMinorDividerPaint() {
+        return mMinorDividerPaint;
+    }
+
+    Paint getMajorDividerPaint() {
+        return mMajorDividerPaint;
+    }
+
+    Paint getPointerHaloPaint() {
+        return mPointerHaloPaint;
+    }
+
+    Paint getPointerColorPaint() {
+        return mPointerColorPaint;
+    }
+
+    Paint getTextPaint() {
+        return mTextPaint;
+    }
+
+    Paint.FontMetrics getTextFontMetrics() {
+        return mTextFontMetrics;
+    }
+
+    Paint getLabelPaint() {
+        return mLabelPaint;
+    }
+
+    Paint.FontMetrics getLabelFontMetrics() {
+        return mLabelFontMetrics;
+    }
+
+    private static Paint createStrokePaint(int color, float width) {
+        final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(color);
+        paint.setStrokeWidth(width);
+        return paint;
+    }
+
+    private static Paint createTextPaint(int color, int size) {
+        final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.LINEAR_TEXT_FLAG);
+        paint.setColor(color);
+        paint.setStyle(Style.FILL_AND_STROKE);
+        paint.setTextAlign(Align.LEFT);
+        paint.setTextSize(size);
+        return paint;
+    }
+
+    public float getPointerRadius() {
+        return mPointerRadius;
+    }
+
+    public float getPointerHaloWidth() {
+        return mPointerHaloWidth;
+    }
+
+    /**
+     * Returns the width of the colored part of the wheel
+     */
+    public float getWheelWidth() {
+        return mWheelWidth;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CirclePickerStyle)) {
+            return false;
+        }
+        final CirclePickerStyle other = (CirclePickerStyle) o;
+        return mHashCode == other.mHashCode
+                && mWheelColor == other.mWheelColor
+                && mWheelBackgroundColor == other.mWheelBackgroundColor
+                && Float.compare(mWheelWidth, other.mWheelWidth) == 0
+                && mDividerColor == other.mDividerColor
+                && Float.compare(mDividerWidth, other.mDividerWidth) == 0
+                && mMinorDividerColor == other.mMinorDividerColor
+                && Float.compare(mMinorDividerWidth, other.mMinorDividerWidth) == 0
+                && mMajorDividerColor == other.mMajorDividerColor
+                && Float.compare(mMajorDividerWidth, other.mMajorDividerWidth) == 0
+                && mPointerColor == other.mPointerColor
+                && mPointerHaloColor == other.mPointerHaloColor
+                && Float.compare(mPointerRadius, other.mPointerRadius) == 0
+                && Float.compare(mPointerHaloWidth, other.mPointerHaloWidth) == 0
+                && mTextColor == other.mTextColor
+                && mTextSize == other.mTextSize
+                && mLabelColor == other.mLabelColor
+                && mLabelSize == other.mLabelSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return mHashCode;
+    }
+
+    private int computeHashCode() {
+        int result = mWheelColor;
+        result = 31 * result + mWheelBackgroundColor;
+        result = 31 * result + Float.floatToIntBits(mWheelWidth);
+        result = 31 * result + mDividerColor;
+        result = 31 * result + Float.floatToIntBits(mDividerWidth);
+        result = 31 * result + mMinorDividerColor;
+        result = 31 * result + Float.floatToIntBits(mMinorDividerWidth);
+        result = 31 * result + mMajorDividerColor;
+        result = 31 * result + Float.floatToIntBits(mMajorDividerWidth);
+        result = 31 * result + mPointerColor;
+        result = 31 * result + mPointerHaloColor;
+        result = 31 * result + Float.floatToIntBits(mPointerRadius);
+        result = 31 * result + Float.floatToIntBits(mPointerHaloWidth);
+        result = 31 * result + mTextColor;
+        result = 31 * result + mTextSize;
+        result = 31 * result + mLabelColor;
+        result = 31 * result + mLabelSize;
+        return result;
+    }
+
+    /**
+     * Builds interned {@link CirclePickerStyle} instances. Sizes are in pixels.
+     */
+    public static final class Builder {
+
+        private int mWheelColor = WHEEL_COLOR_DEF_VALUE;
+        private int mWheelBackgroundColor = WHEEL_BACKGROUND_COLOR_DEF_VALUE;
+        private float mWheelWidth = WHEEL_STROKE_WIDTH_DEF_VALUE;
+        private int mDividerColor = DIVIDER_COLOR_DEF_VALUE;
+        private float mDividerWidth = DIVIDER_WIDTH_DEF_VALUE;
+        private int mMinorDividerColor = DIVIDER_COLOR_DEF_VALUE;
+        private float mMinorDividerWidth = DIVIDER_WIDTH_DEF_VALUE;
+        private int mMajorDividerColor = DIVIDER_COLOR_DEF_VALUE;
+        private float mMajorDividerWidth = DIVIDER_WIDTH_DEF_VALUE;
+        private int mPointerColor = WHEEL_COLOR_DEF_VALUE;
+        private int mPointerHaloColor = WHEEL_BACKGROUND_COLOR_DEF_VALUE;
+        private float mPointerRadius = POINTER_RADIUS_DEF_VALUE;
+        private float mPointerHaloWidth = POINTER_HALO_WIDTH_DEF_VALUE;
+        private int mTextColor = WHEEL_COLOR_DEF_VALUE;
+        private int mTextSize = TEXT_SIZE_DEF_VALUE;
+        private int mLabelColor = WHEEL_COLOR_DEF_VALUE;
+        private int mLabelSize = TEXT_SIZE_DEF_VALUE;
+
+        public Builder() {
+        }
+
+        /**
+         * Start from the values of an existing style
+         */
+        public Builder(CirclePickerStyle style) {
+            mWheelColor = style.mWheelColor;
+            mWheelBackgroundColor = style.mWheelBackgroundColor;
+            mWheelWidth = style.mWheelWidth;
+            mDividerColor = style.mDividerColor;
+            mDividerWidth = style.mDividerWidth;
+            mMinorDividerColor = style.mMinorDividerColor;
+            mMinorDividerWidth = style.mMinorDividerWidth;
+            mMajorDividerColor = style.mMajorDividerColor;
+            mMajorDividerWidth = style.mMajorDividerWidth;
+            mPointerColor = style.mPointerColor;
+            mPointerHaloColor = style.mPointerHaloColor;
+            mPointerRadius = style.mPointerRadius;
+            mPointerHaloWidth = style.mPointerHaloWidth;
+            mTextColor = style.mTextColor;
+            mTextSize = style.mTextSize;
+            mLabelColor = style.mLabelColor;
+            mLabelSize = style.mLabelSize;
+        }
+
+        public Builder setWheelColor(int wheelColor) {
+            mWheelColor = wheelColor;
+            return this;
+        }
+
+        public Builder setWheelBackgroundColor(int wheelBackgroundColor) {
+            mWheelBackgroundColor = wheelBackgroundColor;
+            return this;
+        }
+
+        public Builder setWheelWidth(float wheelWidth) {
+            mWheelWidth = wheelWidth;
+            return this;
+        }
+
+        public Builder setDividerStyle(int dividerColor, float dividerWidth) {
+            mDividerColor = dividerColor;
+            mDividerWidth = dividerWidth;
+            return this;
+        }
+
+        public Builder setMinorDividerStyle(int dividerColor, float dividerWidth) {
+            mMinorDividerColor = dividerColor;
+            mMinorDividerWidth = dividerWidth;
+            return this;
+        }
+
+        public Builder setMajorDividerStyle(int dividerColor, float dividerWidth) {
+            mMajorDividerColor = dividerColor;
+            mMajorDividerWidth = dividerWidth;
+            return this;
+        }
+
+        public Builder setPointerStyle(int pointerColor, int pointerHaloColor, float pointerRadius,
+                                       float pointerHaloWidth) {
+            mPointerColor = pointerColor;
+            mPointerHaloColor = pointerHaloColor;
+            mPointerRadius = pointerRadius;
+            mPointerHaloWidth = pointerHaloWidth;
+            return this;
+        }
+
+        public Builder setValueTextStyle(int textColor, int textSize) {
+            mTextColor = textColor;
+            mTextSize = textSize;
+            return this;
+        }
+
+        public Builder setLabelStyle(int labelColor, int labelSize) {
+            mLabelColor = labelColor;
+            mLabelSize = labelSize;
+            return this;
+        }
+
+        /**
+         * Returns the interned style with the values of this builder
+         */
+        public CirclePickerStyle build() {
+            return intern(this);
+        }
+    }
+}
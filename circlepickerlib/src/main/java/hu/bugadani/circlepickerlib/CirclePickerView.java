@@ -2,28 +2,37 @@ package hu.bugadani.circlepickerlib;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
-import android.graphics.Paint.Align;
-import android.graphics.Paint.Style;
-import android.graphics.PointF;
 import android.graphics.Rect;
 import android.graphics.RectF;
+import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Parcelable;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.Choreographer;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewConfiguration;
 
+import com.biowink.clue.ArcPath;
 import com.biowink.clue.ArcUtils;
 
+import java.util.concurrent.Executor;
+
+import hu.bugadani.circlepickerlib.angle.AngleSolver;
+import hu.bugadani.circlepickerlib.angle.FastAngleSolver;
+import hu.bugadani.circlepickerlib.core.PickerEngine;
+import hu.bugadani.circlepickerlib.core.PickerGesture;
 import hu.bugadani.circlepickerlib.formatter.SimpleValueFormatter;
 import hu.bugadani.circlepickerlib.formatter.ValueFormatter;
+import hu.bugadani.circlepickerlib.trace.TouchTrace;
 
 public class CirclePickerView extends View {
 
@@ -37,10 +46,18 @@ public class CirclePickerView extends View {
         End
     }
 
-    private enum TouchPosition {
-        OnWheel,
-        Inside,
-        Outside
+    /**
+     * Controls how often the value is updated while the pointer is dragged.
+     */
+    public enum DispatchMode {
+        /**
+         * Update the value and notify the listener for every touch event.
+         */
+        PerEvent,
+        /**
+         * Collect the touch events and update the value at most once per frame.
+         */
+        PerFrame
     }
 
     public interface OnValueChangeListener {
@@ -50,479 +67,810 @@ public class CirclePickerView extends View {
         void onValueChanged(CirclePickerView pickerView, double value);
     }
 
-    private static class AngleHelper {
+    private class CirclePickerRenderer {
 
         /**
-         * Reference to the view
+         * Trace counters of this picker, only created if the trace sections are compiled in. The names contain
+         * the identity of the picker, so every picker on the screen has its own tracks. The value is traced on
+         * every change, the hit counts change every frame and are rate limited. The rate limited values are
+         * flushed when no drag is in progress, so the tracks end on the last value of a gesture.
          */
-        private final CirclePickerView mOwner;
+        private final PickerTrace.Counter mValueCounter = PickerTrace.ENABLED
+                ? new PickerTrace.Counter(getTraceName("value x1000"), 0)
+                : null;
+        private final PickerTrace.Counter mTextCacheHitsCounter = PickerTrace.ENABLED
+                ? new PickerTrace.Counter(getTraceName("text cache hits"), 100)
+                : null;
+        private final PickerTrace.Counter mStaticLayerHitsCounter = PickerTrace.ENABLED
+                ? new PickerTrace.Counter(getTraceName("static layer hits"), 100)
+                : null;
 
         /**
-         * The current angle
+         * Reusable path of the arc which starts at the zero value.
          */
-        private double mAngle;
+        private final ArcPath mColorArcPath = new ArcPath();
 
         /**
-         * The maximum allowed value
+         * Reusable path of the arc which ends at the zero value.
          */
-        private double mMaxValue;
+        private final ArcPath mBackgroundArcPath = new ArcPath();
 
         /**
-         * The minimum allowed value
+         * Scratch buffer used while building the arc paths.
          */
-        private double mMinValue;
+        private final float[] mArcPoints = new float[ArcUtils.ARC_POINTS_SIZE];
 
         /**
-         * Difference of two consequent values
+         * Position of the pointer, taken from the end of the colored arc.
          */
-        private double mValuePerStep;
+        private final float[] mPointerPosition = new float[2];
 
         /**
-         * Angle offset for the zero value.
+         * The shared paints and metrics of the picker.
          */
-        private int mWheelRotation;
+        private CirclePickerStyle mStyle;
 
         /**
-         * The wheel radius
+         * The rectangle enclosing the color wheel.
          */
-        private double mWheelRadius;
+        private final RectF mWheelRectangle = new RectF();
 
         /**
-         * Angle between two values
+         * Formatted and measured value texts of the recently displayed steps.
          */
-        private double mDegreePerValue;
+        private final ValueTextCache mTextCache = new ValueTextCache(TEXT_CACHE_SIZE);
 
         /**
-         * Helper angle used to compute differences while dragging the pointer
+         * Bounding box for the label.
          */
-        private double mLastAngle;
+        private final Rect mLabelBounds = new Rect();
 
         /**
-         * The originally set cycle value
+         * Label metrics, recomputed when the label, its style or its position changes.
          */
-        private double mSetCycleValue;
-
-        public AngleHelper(CirclePickerView owner) {
-            mOwner = owner;
-        }
-
-        public void setWheelRotation(int zeroOffset) {
-            mWheelRotation = zeroOffset;
-        }
-
-        public void setWheelRadius(double radius) {
-            mWheelRadius = radius;
-        }
-
-        public void setMinValue(double minValue) {
-            mMinValue = minValue;
-            computeCycleValue(mMinValue, mMaxValue);
-        }
-
-        public void setMaxValue(double maxValue) {
-            mMaxValue = maxValue;
-            computeCycleValue(mMinValue, mMaxValue);
-        }
-
-        private void computeCycleValue(double minValue, double maxValue) {
-            //Don't overwrite explicit settings
-            if (mSetCycleValue != 0) {
-                return;
-            }
-
-            //Indeterminate size shouldn't be used
-            if (minValue == -Float.MAX_VALUE || maxValue == Float.MAX_VALUE) {
-                return;
-            }
-
-            double valuePerCycle = getCycleValueFromMinMax(mMaxValue, mMinValue);
-            computeDegreePerValue(valuePerCycle);
-        }
-
-        private double getCycleValueFromMinMax(double max, double min) {
-            if (min < 0 && max > 0) {
-                return max - min + 1;
-            } else {
-                return Math.abs(max + min);
-            }
-        }
-
-        public void setCycleValue(double valuePerCycle) {
-            mSetCycleValue = valuePerCycle;
-            if (valuePerCycle == 0) {
-                //Indeterminate size isn't allowed here
-                if (mMinValue == -Float.MAX_VALUE || mMaxValue == Float.MAX_VALUE) {
-                    throw new IllegalStateException("Either the limits or the cycle value should be set");
-                }
-                valuePerCycle = getCycleValueFromMinMax(mMaxValue, mMinValue);
-            }
-            computeDegreePerValue(valuePerCycle);
-        }
-
-        private void computeDegreePerValue(double valuePerCycle) {
-            int stepsPerCycle = (int) (valuePerCycle / mValuePerStep);
-            double degreePerStep = 360d / stepsPerCycle;
-            mDegreePerValue = degreePerStep / mValuePerStep;
-        }
-
-        public void setStep(float step) {
-            mValuePerStep = step;
-            if (mDegreePerValue != 0) {
-                setCycleValue(mSetCycleValue);
-            }
-            setAngle(mAngle);
-        }
-
-        private double getClosestValue(double value) {
-            return ((int) Math.round(value / mValuePerStep)) * mValuePerStep;
-        }
-
-        public TouchPosition handleTouch(float x, float y) {
-            double distFromOrigin = Math.hypot(x, y);
-
-            if (distFromOrigin < mWheelRadius * 0.6) {
-                return TouchPosition.Inside;
-            } else if (distFromOrigin > mWheelRadius * 1.4) {
-                return TouchPosition.Outside;
-            } else {
-                final double currentAngleInCycle = getCurrentAngleInCycle(x, y);
-                final double computedAngle = computeAngleForTouch(currentAngleInCycle);
-
-                setAngle(computedAngle);
-
-                return TouchPosition.OnWheel;
-            }
-        }
-
-        public void handleDrag(float x, float y) {
-            final double currentAngleInCycle = getCurrentAngleInCycle(x, y);
-            final double computedAngle = computeAngleForMove(currentAngleInCycle);
-
-            setAngle(computedAngle);
-        }
-
-        private double getCurrentAngleInCycle(float x, float y) {
-            final double atg = Math.atan2(y, x);
-            final double degrees = Math.toDegrees(atg);
-
-            return degrees + 90 - mWheelRotation;
-        }
-
-        private double computeAngleForTouch(double angle) {
-            double diff = mod360(angle) - mod360(mAngle);
-
-            //For touch, the 180° separates incrementing and decrementing
-            if (diff < -180) {
-                diff += 360;
-            } else if (diff > 180) {
-                diff -= 360;
-            }
-
-            mLastAngle = mAngle + diff;
-
-            return limit(mAngle + diff, valueToDegree(mMinValue), valueToDegree(mMaxValue));
-        }
-
-        private double computeAngleForMove(double angle) {
-            double diff = mod360(angle) - mod360(mLastAngle);
-
-            if (diff < -90) {
-                diff += 360;
-            } else if (diff > 270) {
-                diff -= 360;
-            }
-
-            mLastAngle = mLastAngle + diff;
-
-            if (mLastAngle > mAngle + 360) {
-                mLastAngle -= 360;
-            } else if (mLastAngle < mAngle - 360) {
-                mLastAngle += 360;
-            }
-
-            return limit(mLastAngle, valueToDegree(mMinValue), valueToDegree(mMaxValue));
-        }
-
-        private double mod360(double angle) {
-            double mod = (angle % 360);
-            if (mod < 0) {
-                mod += 360;
-            }
-            return mod;
-        }
-
-        private void setAngle(double angle) {
-            double value = degreeToValue(angle);
-            setValue(value);
-        }
-
-        public void setValue(double value) {
-            value = getClosestValue(value);
-            mAngle = valueToDegree(value);
-            value = limit(value, mMinValue, mMaxValue);
-
-            mOwner.updateValue(value);
-        }
-
-        private double limit(double number, double min, double max) {
-            if (number < min) {
-                return min;
-            } else if (number > max) {
-                return max;
-            } else {
-                return number;
-            }
-        }
-
-        public double getValue() {
-            return degreeToValue(getAngle());
-        }
-
-        private double degreeToValue(double angle) {
-            return angle / mDegreePerValue;
-        }
-
-        private double valueToDegree(double value) {
-            return value * mDegreePerValue;
-        }
-
-        public double getAngle() {
-            return limit(mAngle, valueToDegree(mMinValue), valueToDegree(mMaxValue));
-        }
-    }
-
-    private class CirclePickerRenderer {
+        private float mLabelWidth;
+        private float mLabelLineHeight;
+        private float mLabelBaseBelowCenter;
+        private boolean mLabelMetricsValid;
 
-        private final PointF mOrigin = new PointF(0, 0);
+        /**
+         * Size of the value text the text positions were computed for.
+         */
+        private float mLayoutTextWidth;
+        private float mLayoutTextLineHeight;
+        private boolean mTextLayoutValid;
 
         /**
-         * {@code Paint} instance used to draw the wheel background.
+         * End points of the divider lines of each level, as used by
+         * {@link Canvas#drawLines(float[], int, int, Paint)}.
          */
-        private Paint mWheelBackgroundPaint;
+        private final float[][] mDividerPoints = {new float[0], new float[0], new float[0]};
+        private final int[] mDividerPointCounts = new int[3];
+        private final boolean[] mDividerLevelVisible = new boolean[3];
+        private boolean mDividerPointsValid;
 
         /**
-         * {@code Paint} instance used to draw the color wheel.
+         * Geometry the divider end points were computed for.
          */
-        private Paint mWheelColorPaint;
+        private double mDividerDegreePerStep;
+        private float mDividerLength;
+        private float mDividerRadius;
 
         /**
-         * {@code Paint} instance used to draw the pointer's "halo".
+         * Number of steps between minor and major dividers. 0 disables the level.
          */
-        private Paint mPointerHaloPaint;
+        private int mMinorDividerInterval;
+        private int mMajorDividerInterval;
 
         /**
-         * {@code Paint} instance used to draw the pointer (the selected color).
+         * Dividers of a level are hidden when they would be closer to each other than this (in pixels).
          */
-        private Paint mPointerColorPaint;
+        private float mDividerMinSpacing;
 
         /**
-         * {@code Paint} instance used to draw the value text.
+         * Show a divider between values
          */
-        private Paint mTextPaint;
+        private boolean mShowDivider;
+        private boolean mShowValueText;
+        private boolean mShowPointer;
+        private float mWheelRadius;
+        private LabelPosition mLabelPosition;
+        private String mLabel;
 
         /**
-         * {@code Paint} instance used to draw the label.
+         * Number of pixels the origin of this view is moved in X- and Y-direction.
+         * <p/>
+         * Note: (Re)calculated in {@link #onMeasure(int, int)}.
+         *
+         * @see #onDraw(Canvas)
          */
-        private Paint mLabelPaint;
+        private float mTranslationOffsetX;
+        private float mTranslationOffsetY;
 
         /**
-         * {@code Paint} instance used to draw the divider lines.
+         * The cached value text and the positions of the texts, computed in {@link #layoutText(double)}.
          */
-        private Paint mDividerPaint;
+        private ValueTextCache.Entry mText;
+        private float mTextX;
+        private float mTextY;
+        private float mLabelX;
+        private float mLabelY;
 
         /**
-         * The radius of the pointer (in pixels).
+         * Render the static parts of the picker into an offscreen bitmap.
          */
-        private float mPointerRadius;
+        private boolean mStaticLayerEnabled;
 
         /**
-         * The width of the pointer halo
+         * Offscreen bitmap holding the wheel background and the label. It only covers the wheel
+         * and the label, and is drawn relative to the center of the wheel, so changing the padding or the
+         * position of the wheel only moves it.
          */
-        private float mPointerHaloWidth;
+        private Bitmap mStaticLayer;
+        private Canvas mStaticLayerCanvas;
+        private boolean mStaticLayerValid;
 
         /**
-         * The rectangle enclosing the color wheel.
+         * Area of the static layer relative to the center of the wheel, and the area needed for the next frame.
          */
-        private final RectF mWheelRectangle = new RectF();
+        private final Rect mStaticLayerBounds = new Rect();
+        private final Rect mRequiredLayerBounds = new Rect();
+        private final RectF mRequiredLayerRegion = new RectF();
 
         /**
-         * Bounding box for the value text.
+         * Number of frames which reused or redrew the static layer
          */
-        private final Rect mTextBounds = new Rect();
+        private long mStaticLayerHits;
+        private long mStaticLayerRedraws;
 
         /**
-         * Bounding box for the label.
+         * Label position the static layer was rendered with.
          */
-        private final Rect mLabelBounds = new Rect();
+        private float mStaticLabelX;
+        private float mStaticLabelY;
 
         /**
-         * Show a divider between values
+         * State of the last drawn frame, used to find the region which changes with the value.
          */
-        private boolean mShowDivider;
-        private boolean mShowValueText;
-        private boolean mShowPointer;
-        private float mWheelRadius;
-        private LabelPosition mLabelPosition;
-        private String mLabel;
+        private boolean mDrawn;
+        private long mDrawnStepIndex;
+        private double mDrawnValue;
+        private float mDrawnArcEnd;
+        private final RectF mDrawnTextRegion = new RectF();
 
         /**
-         * Number of pixels the origin of this view is moved in X- and Y-direction.
-         * <p/>
-         * Note: (Re)calculated in {@link #onMeasure(int, int)}.
-         *
-         * @see #onDraw(Canvas)
+         * Buffers used to compute the invalidated region.
          */
-        private float mTranslationOffsetX;
-        private float mTranslationOffsetY;
+        private final RectF mDirtyRegion = new RectF();
+        private final RectF mDirtyTextRegion = new RectF();
+        private final Rect mDirtyRect = new Rect();
 
         public void draw(Canvas canvas) {
+            if (PickerTrace.ENABLED) {
+                PickerTrace.begin("CirclePicker#draw");
+            }
+            final float colorStartAngle = (float) -90;
+            final double value = mEngine.getValue();
+
+            float colorSweepAngle = getColorSweepAngle(value, mEngine.getAngleInCycle());
+
+            float backgroundStartAngle = (colorStartAngle + colorSweepAngle) % 360;
+            float backgroundSweepAngle = (360 - colorSweepAngle);
+
+            if (PickerTrace.ENABLED) {
+                PickerTrace.begin("CirclePicker#layoutText");
+            }
+            layoutText(value);
+            if (PickerTrace.ENABLED) {
+                PickerTrace.end();
+            }
+
+            final boolean useStaticLayer = mStaticLayerEnabled && prepareStaticLayer();
+            if (useStaticLayer) {
+                canvas.drawBitmap(
+                        mStaticLayer,
+                        mTranslationOffsetX + getPaddingLeft() + mStaticLayerBounds.left,
+                        mTranslationOffsetY + getPaddingTop() + mStaticLayerBounds.top,
+                        null
+                );
+            }
+
             canvas.translate(
                     mTranslationOffsetX + getPaddingLeft(),
                     mTranslationOffsetY + getPaddingTop()
             );
-            canvas.rotate(mAngleHelper.mWheelRotation);
+            canvas.rotate(mEngine.getWheelRotation());
 
-            final float colorStartAngle = (float) -90;
-            final double value = mAngleHelper.getValue();
+            if (useStaticLayer) {
+                drawActiveArc(canvas, value, colorStartAngle, colorSweepAngle, backgroundStartAngle, backgroundSweepAngle);
+            } else {
+                drawWheel(canvas, value, colorStartAngle, colorSweepAngle, backgroundStartAngle, backgroundSweepAngle);
+            }
+            drawDivider(canvas);
+            drawPointer(canvas);
+            canvas.rotate(-mEngine.getWheelRotation());
+            if (PickerTrace.ENABLED) {
+                PickerTrace.begin("CirclePicker#drawText");
+            }
+            drawValueText(canvas);
+            if (!useStaticLayer) {
+                drawLabel(canvas);
+            }
+            if (PickerTrace.ENABLED) {
+                PickerTrace.end();
+            }
+
+            mDrawn = true;
+            mDrawnStepIndex = mEngine.getStepIndex();
+            mDrawnValue = value;
+            mDrawnArcEnd = getColoredArcEnd(value, colorSweepAngle);
+            getTextRegion(mDrawnTextRegion);
+
+            if (PickerTrace.ENABLED) {
+                mValueCounter.set(Math.round(value * TRACE_VALUE_SCALE));
+                mTextCacheHitsCounter.set(getTextCacheHits());
+                mStaticLayerHitsCounter.set(mStaticLayerHits);
+                if (!mGesture.isDragging()) {
+                    flushTraceCounters();
+                }
+                PickerTrace.end();
+            }
+        }
+
+        public void flushTraceCounters() {
+            mValueCounter.flush();
+            mTextCacheHitsCounter.flush();
+            mStaticLayerHitsCounter.flush();
+        }
+
+        private String getTraceName(String counterName) {
+            return "CirclePicker@" + Integer.toHexString(System.identityHashCode(CirclePickerView.this))
+                    + " " + counterName;
+        }
 
-            float colorSweepAngle = (float) mAngleHelper.getAngle() % 360;
+        private float getColorSweepAngle(double value, double angle) {
+            float colorSweepAngle = (float) angle % 360;
 
             if (colorSweepAngle < 0) {
                 colorSweepAngle += 360;
             } else if (value > 0 && colorSweepAngle == 0) {
                 colorSweepAngle = 360;
             }
+            return colorSweepAngle;
+        }
 
-            float backgroundStartAngle = (colorStartAngle + colorSweepAngle) % 360;
-            float backgroundSweepAngle = (360 - colorSweepAngle);
+        /**
+         * Returns the end of the arc drawn with the color paint, relative to the start angle. Negative values
+         * are drawn counterclockwise from the start, so the colored arc is [min(0, end), max(0, end)].
+         */
+        private float getColoredArcEnd(double value, float colorSweepAngle) {
+            if (value > 0) {
+                return colorSweepAngle;
+            } else if (value < 0) {
+                return colorSweepAngle - 360;
+            } else {
+                return 0;
+            }
+        }
+
+        /**
+         * Invalidates the parts of the view which change when the value changes from the last drawn one to the
+         * current value of the picker. Does nothing if the value still belongs to the last drawn step.
+         * <p/>
+         * Only software rendering redraws just the dirty region. Hardware accelerated rendering ignores the
+         * rectangle of {@link View#invalidate(Rect)} and redraws the whole view, so the region isn't computed
+         * there.
+         */
+        public void invalidateValue() {
+            final double value = mEngine.getValue();
+            if (!mDrawn) {
+                invalidate();
+                return;
+            }
+            //The value is compared too, as the limits don't need to be on a step
+            if (mEngine.getStepIndex() == mDrawnStepIndex && value == mDrawnValue) {
+                return;
+            }
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && isHardwareAccelerated()) {
+                invalidate();
+                return;
+            }
+
+            final float arcEnd = getColoredArcEnd(value, getColorSweepAngle(value, mEngine.getAngleInCycle()));
+            final float startAngle = Math.min(arcEnd, mDrawnArcEnd);
+            final float endAngle = Math.max(arcEnd, mDrawnArcEnd);
+            if (endAngle - startAngle >= 180) {
+                //Most of the wheel changes
+                invalidate();
+                return;
+            }
 
+            //The changed part of the wheel, with the pointer at both ends
+            final float rotation = -90 + mEngine.getWheelRotation();
+            getArcBounds(startAngle + rotation, endAngle + rotation, mDirtyRegion);
+            final float margin = getWheelMargin();
+            mDirtyRegion.inset(-margin, -margin);
+
+            //The texts at their old and new positions
+            layoutText(value);
+            getTextRegion(mDirtyTextRegion);
+            mDirtyRegion.union(mDrawnTextRegion);
+            mDirtyRegion.union(mDirtyTextRegion);
+
+            mDirtyRegion.offset(
+                    mTranslationOffsetX + getPaddingLeft(),
+                    mTranslationOffsetY + getPaddingTop()
+            );
+            mDirtyRegion.roundOut(mDirtyRect);
+            invalidate(mDirtyRect);
+        }
+
+        /**
+         * Returns how far the dividers and the pointer may be drawn outside the center line of the wheel.
+         */
+        private float getWheelMargin() {
+            return Math.max(
+                    mStyle.getWheelColorPaint().getStrokeWidth() / 2 + 2 + MAJOR_DIVIDER_EXTRA_LENGTH,
+                    mShowPointer ? mStyle.getPointerRadius() + mStyle.getPointerHaloWidth() / 2 : 0
+            ) + 1;
+        }
+
+        /**
+         * Computes the bounding box of the wheel's arc between the given angles.
+         */
+        private void getArcBounds(float startAngle, float endAngle, RectF out) {
+            final double start = Math.toRadians(startAngle);
+            final double end = Math.toRadians(endAngle);
+            final float startX = (float) (mWheelRadius * Math.cos(start));
+            final float startY = (float) (mWheelRadius * Math.sin(start));
+            final float endX = (float) (mWheelRadius * Math.cos(end));
+            final float endY = (float) (mWheelRadius * Math.sin(end));
+            out.set(
+                    Math.min(startX, endX),
+                    Math.min(startY, endY),
+                    Math.max(startX, endX),
+                    Math.max(startY, endY)
+            );
+
+            //Extend the box to the extreme points the arc passes
+            for (int quadrant = (int) Math.ceil(startAngle / 90); quadrant * 90 < endAngle; quadrant++) {
+                switch (((quadrant % 4) + 4) % 4) {
+                    case 0:
+                        out.right = mWheelRadius;
+                        break;
+                    case 1:
+                        out.bottom = mWheelRadius;
+                        break;
+                    case 2:
+                        out.left = -mWheelRadius;
+                        break;
+                    case 3:
+                        out.top = -mWheelRadius;
+                        break;
+                }
+            }
+        }
+
+        /**
+         * Computes the bounding box of the value text and the label at their current positions.
+         */
+        private void getTextRegion(RectF out) {
+            out.setEmpty();
+            if (mShowValueText && mText != null) {
+                final Rect bounds = mText.mBounds;
+                out.set(
+                        mTextX + bounds.left,
+                        mTextY + bounds.top,
+                        mTextX + bounds.right,
+                        mTextY + bounds.bottom
+                );
+            }
+            if (mLabelPosition != LabelPosition.None) {
+                out.union(
+                        mLabelX + mLabelBounds.left,
+                        mLabelY + mLabelBounds.top,
+                        mLabelX + mLabelBounds.right,
+                        mLabelY + mLabelBounds.bottom
+                );
+            }
+            if (!out.isEmpty()) {
+                //Leave room for antialiasing
+                out.inset(-1, -1);
+            }
+        }
+
+        private void drawWheel(Canvas canvas, double value, float colorStartAngle, float colorSweepAngle,
+                               float backgroundStartAngle, float backgroundSweepAngle) {
             if (value == 0) {
                 // Draw the wheel.
                 ArcUtils.drawArc(
                         canvas,
-                        mOrigin,
+                        0,
+                        0,
                         mWheelRadius,
                         0,
                         360,
-                        mWheelBackgroundPaint
+                        mStyle.getWheelBackgroundPaint(),
+                        ARC_POINTS_ON_CIRCLE,
+                        true,
+                        mBackgroundArcPath,
+                        mArcPoints
                 );
             } else if (value > 0) {
                 // Draw the "background" of the wheel.
                 ArcUtils.drawArc(
                         canvas,
-                        mOrigin,
+                        0,
+                        0,
                         mWheelRadius,
                         backgroundStartAngle,
                         backgroundSweepAngle,
-                        mWheelBackgroundPaint
+                        mStyle.getWheelBackgroundPaint(),
+                        ARC_POINTS_ON_CIRCLE,
+                        true,
+                        mBackgroundArcPath,
+                        mArcPoints
                 );
                 // Draw the wheel.
                 ArcUtils.drawArc(
                         canvas,
-                        mOrigin,
+                        0,
+                        0,
                         mWheelRadius,
                         colorStartAngle,
                         colorSweepAngle,
-                        mWheelColorPaint
+                        mStyle.getWheelColorPaint(),
+                        ARC_POINTS_ON_CIRCLE,
+                        true,
+                        mColorArcPath,
+                        mArcPoints
                 );
             } else {
                 // Draw the "background" of the wheel.
                 ArcUtils.drawArc(
                         canvas,
-                        mOrigin,
+                        0,
+                        0,
                         mWheelRadius,
                         backgroundStartAngle,
                         backgroundSweepAngle,
-                        mWheelColorPaint
+                        mStyle.getWheelColorPaint(),
+                        ARC_POINTS_ON_CIRCLE,
+                        true,
+                        mBackgroundArcPath,
+                        mArcPoints
                 );
                 // Draw the wheel.
                 ArcUtils.drawArc(
                         canvas,
-                        mOrigin,
+                        0,
+                        0,
                         mWheelRadius,
                         colorStartAngle,
                         colorSweepAngle,
-                        mWheelBackgroundPaint
+                        mStyle.getWheelBackgroundPaint(),
+                        ARC_POINTS_ON_CIRCLE,
+                        true,
+                        mColorArcPath,
+                        mArcPoints
                 );
             }
 
-            drawDivider(canvas);
-            drawPointer(canvas, backgroundStartAngle);
-            canvas.rotate(-mAngleHelper.mWheelRotation);
-            drawText(canvas, value);
+            updatePointerPosition(value != 0 && colorSweepAngle != 0, backgroundStartAngle);
+        }
+
+        /**
+         * Draws the part of the wheel which differs from the background stored in the static layer.
+         */
+        private void drawActiveArc(Canvas canvas, double value, float colorStartAngle, float colorSweepAngle,
+                                   float backgroundStartAngle, float backgroundSweepAngle) {
+            if (value > 0) {
+                // Draw the wheel.
+                ArcUtils.drawArc(
+                        canvas,
+                        0,
+                        0,
+                        mWheelRadius,
+                        colorStartAngle,
+                        colorSweepAngle,
+                        mStyle.getWheelColorPaint(),
+                        ARC_POINTS_ON_CIRCLE,
+                        true,
+                        mColorArcPath,
+                        mArcPoints
+                );
+                updatePointerPosition(colorSweepAngle != 0, backgroundStartAngle);
+            } else if (value < 0) {
+                // Draw the "background" of the wheel backwards, so that it ends at the pointer.
+                ArcUtils.drawArc(
+                        canvas,
+                        0,
+                        0,
+                        mWheelRadius,
+                        colorStartAngle + 360,
+                        -backgroundSweepAngle,
+                        mStyle.getWheelColorPaint(),
+                        ARC_POINTS_ON_CIRCLE,
+                        true,
+                        mBackgroundArcPath,
+                        mArcPoints
+                );
+                updatePointerPosition(backgroundSweepAngle != 0, backgroundStartAngle);
+            } else {
+                updatePointerPosition(false, backgroundStartAngle);
+            }
+        }
+
+        /**
+         * @param arcEndsAtPointer {@code true} if the last drawn arc ends at the pointer
+         * @param angle            The angle of the pointer
+         */
+        private void updatePointerPosition(boolean arcEndsAtPointer, float angle) {
+            if (arcEndsAtPointer) {
+                mPointerPosition[0] = mArcPoints[2];
+                mPointerPosition[1] = mArcPoints[3];
+            } else {
+                ArcUtils.pointFromAngleDegrees(
+                        0,
+                        0,
+                        mWheelRadius,
+                        angle,
+                        ARC_POINTS_ON_CIRCLE,
+                        mPointerPosition,
+                        0
+                );
+            }
+        }
+
+        /**
+         * Makes sure the static layer matches the current wheel, style and label position.
+         *
+         * @return {@code false} if the static layer can't be used
+         */
+        private boolean prepareStaticLayer() {
+            if (getWidth() <= 0 || getHeight() <= 0 || mWheelRadius <= 0) {
+                return false;
+            }
+
+            //The wheel with the pointer, and the label which may extend past the wheel
+            final float extent = mWheelRadius + getWheelMargin();
+            mRequiredLayerRegion.set(-extent, -extent, extent, extent);
+            if (mLabelPosition != LabelPosition.None) {
+                mRequiredLayerRegion.union(
+                        mLabelX + mLabelBounds.left - 1,
+                        mLabelY + mLabelBounds.top - 1,
+                        mLabelX + mLabelBounds.right + 1,
+                        mLabelY + mLabelBounds.bottom + 1
+                );
+            }
+            mRequiredLayerRegion.roundOut(mRequiredLayerBounds);
+            final int width = mRequiredLayerBounds.width();
+            final int height = mRequiredLayerBounds.height();
+
+            if (mStaticLayer == null
+                    || mStaticLayer.getWidth() != width
+                    || mStaticLayer.getHeight() != height) {
+                releaseStaticLayer();
+                mStaticLayer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+                mStaticLayerCanvas = new Canvas(mStaticLayer);
+            }
+
+            if (!mStaticLayerValid
+                    || !mStaticLayerBounds.equals(mRequiredLayerBounds)
+                    || mStaticLabelX != mLabelX
+                    || mStaticLabelY != mLabelY) {
+                mStaticLayerBounds.set(mRequiredLayerBounds);
+                mStaticLayer.eraseColor(Color.TRANSPARENT);
+                drawStaticLayer(mStaticLayerCanvas);
+
+                mStaticLabelX = mLabelX;
+                mStaticLabelY = mLabelY;
+                mStaticLayerValid = true;
+                mStaticLayerRedraws++;
+            } else {
+                mStaticLayerHits++;
+            }
+
+            return true;
+        }
+
+        private void drawStaticLayer(Canvas canvas) {
+            canvas.save();
+            canvas.translate(-mStaticLayerBounds.left, -mStaticLayerBounds.top);
+            canvas.rotate(mEngine.getWheelRotation());
+            ArcUtils.drawArc(
+                    canvas,
+                    0,
+                    0,
+                    mWheelRadius,
+                    0,
+                    360,
+                    mStyle.getWheelBackgroundPaint(),
+                    ARC_POINTS_ON_CIRCLE,
+                    true,
+                    mBackgroundArcPath,
+                    mArcPoints
+            );
+            canvas.rotate(-mEngine.getWheelRotation());
+            drawLabel(canvas);
+            canvas.restore();
+        }
+
+        public void invalidateStaticLayer() {
+            mStaticLayerValid = false;
+        }
+
+        public void releaseStaticLayer() {
+            if (mStaticLayer != null) {
+                mStaticLayer.recycle();
+                mStaticLayer = null;
+                mStaticLayerCanvas = null;
+            }
+            mStaticLayerValid = false;
+        }
+
+        public void setStaticLayerEnabled(boolean enabled) {
+            mStaticLayerEnabled = enabled;
+            if (!enabled) {
+                releaseStaticLayer();
+            }
         }
 
         private void drawDivider(Canvas canvas) {
             //Draw the divider lines if enabled
             if (mShowDivider) {
-                double degreePerStep = mAngleHelper.mValuePerStep * mAngleHelper.mDegreePerValue;
-                float length = mWheelColorPaint.getStrokeWidth() / 2 + 2;
-                for (float i = 0; i < 360 - degreePerStep / 2; i += degreePerStep) {
-                    canvas.rotate(i);
-                    canvas.drawLine(
-                            0,
-                            -(mWheelRadius - length),
-                            0,
-                            -(mWheelRadius + length),
-                            mDividerPaint
-                    );
-                    canvas.rotate(-i);
+                if (PickerTrace.ENABLED) {
+                    PickerTrace.begin("CirclePicker#drawDivider");
+                }
+                double degreePerStep = mEngine.getDegreePerStep();
+                float length = mStyle.getWheelColorPaint().getStrokeWidth() / 2 + 2;
+                if (!mDividerPointsValid
+                        || degreePerStep != mDividerDegreePerStep
+                        || length != mDividerLength
+                        || mWheelRadius != mDividerRadius) {
+                    computeDividerPoints(degreePerStep, length);
+                }
+                drawDividerLevel(canvas, DIVIDER_LEVEL_MICRO, mStyle.getDividerPaint());
+                drawDividerLevel(canvas, DIVIDER_LEVEL_MINOR, mStyle.getMinorDividerPaint());
+                drawDividerLevel(canvas, DIVIDER_LEVEL_MAJOR, mStyle.getMajorDividerPaint());
+                if (PickerTrace.ENABLED) {
+                    PickerTrace.end();
+                }
+            }
+        }
+
+        private void drawDividerLevel(Canvas canvas, int level, Paint paint) {
+            if (mDividerPointCounts[level] > 0) {
+                canvas.drawLines(mDividerPoints[level], 0, mDividerPointCounts[level], paint);
+            }
+        }
+
+        private int getDividerLevel(int step) {
+            if (mMajorDividerInterval > 0 && step % mMajorDividerInterval == 0) {
+                return DIVIDER_LEVEL_MAJOR;
+            } else if (mMinorDividerInterval > 0 && step % mMinorDividerInterval == 0) {
+                return DIVIDER_LEVEL_MINOR;
+            } else {
+                return DIVIDER_LEVEL_MICRO;
+            }
+        }
+
+        private void computeDividerPoints(double degreePerStep, float length) {
+            mDividerDegreePerStep = degreePerStep;
+            mDividerLength = length;
+            mDividerRadius = mWheelRadius;
+            mDividerPointsValid = true;
+
+            mDividerPointCounts[DIVIDER_LEVEL_MICRO] = 0;
+            mDividerPointCounts[DIVIDER_LEVEL_MINOR] = 0;
+            mDividerPointCounts[DIVIDER_LEVEL_MAJOR] = 0;
+
+            if (!(degreePerStep > 0) || Double.isInfinite(degreePerStep)) {
+                return;
+            }
+
+            //Levels closer to each other than the minimum spacing are not drawn
+            final double spacing = Math.toRadians(degreePerStep) * mWheelRadius;
+            mDividerLevelVisible[DIVIDER_LEVEL_MICRO] = spacing >= mDividerMinSpacing;
+            mDividerLevelVisible[DIVIDER_LEVEL_MINOR] = mMinorDividerInterval > 0
+                    && spacing * mMinorDividerInterval >= mDividerMinSpacing;
+            mDividerLevelVisible[DIVIDER_LEVEL_MAJOR] = mMajorDividerInterval > 0
+                    && spacing * mMajorDividerInterval >= mDividerMinSpacing;
+
+            //Only visit the steps which may have a visible divider
+            final int stride;
+            if (mDividerLevelVisible[DIVIDER_LEVEL_MICRO]) {
+                stride = 1;
+            } else if (mDividerLevelVisible[DIVIDER_LEVEL_MINOR]) {
+                stride = mDividerLevelVisible[DIVIDER_LEVEL_MAJOR]
+                        ? gcd(mMinorDividerInterval, mMajorDividerInterval)
+                        : mMinorDividerInterval;
+            } else if (mDividerLevelVisible[DIVIDER_LEVEL_MAJOR]) {
+                stride = mMajorDividerInterval;
+            } else {
+                return;
+            }
+
+            final int lines = (int) Math.ceil((360 - degreePerStep / 2) / degreePerStep);
+            final int capacity = (lines + stride - 1) / stride * 4;
+            for (int level = 0; level < mDividerPoints.length; level++) {
+                if (mDividerLevelVisible[level] && mDividerPoints[level].length < capacity) {
+                    mDividerPoints[level] = new float[capacity];
+                }
+            }
+
+            final float innerRadius = mWheelRadius - length;
+            for (int i = 0; i < lines; i += stride) {
+                final int level = getDividerLevel(i);
+                if (!mDividerLevelVisible[level]) {
+                    continue;
                 }
+                final float outerRadius = level == DIVIDER_LEVEL_MAJOR
+                        ? mWheelRadius + length + MAJOR_DIVIDER_EXTRA_LENGTH
+                        : mWheelRadius + length;
+
+                final double angle = Math.toRadians(i * degreePerStep);
+                final float sin = (float) Math.sin(angle);
+                final float cos = (float) Math.cos(angle);
+
+                final float[] points = mDividerPoints[level];
+                final int index = mDividerPointCounts[level];
+                points[index] = innerRadius * sin;
+                points[index + 1] = -innerRadius * cos;
+                points[index + 2] = outerRadius * sin;
+                points[index + 3] = -outerRadius * cos;
+                mDividerPointCounts[level] = index + 4;
             }
         }
 
-        private void drawText(Canvas canvas, double value) {
+        private int gcd(int a, int b) {
+            while (b != 0) {
+                final int t = a % b;
+                a = b;
+                b = t;
+            }
+            return a;
+        }
+
+        private void layoutText(double value) {
             if (!mShowValueText && mLabelPosition == LabelPosition.None) {
                 return;
             }
+            if (!mLabelMetricsValid) {
+                computeLabelMetrics();
+            }
+
             //Get the text bounds
-            final float labelLineHeight;
             final float textLineHeight;
-
-            float labelWidth;
-            float textWidth;
-            float textBaseBelowCenter;
-            float labelBaseBelowCenter;
-
-            String text = "";
+            final float textWidth;
             if (!mShowValueText) {
-                mTextBounds.setEmpty();
                 textWidth = 0;
                 textLineHeight = 0;
-                textBaseBelowCenter = 0;
             } else {
-                text = mValueFormatter.format(value);
-                mTextPaint.getTextBounds(
-                        text,
-                        0,
-                        text.length(),
-                        mTextBounds
+                mText = mTextCache.get(
+                        mStyle.getTextPaint(),
+                        mValueFormatter,
+                        mEngine.getStepIndex(),
+                        value
                 );
-                final Paint.FontMetrics textFontMetrics = mTextPaint.getFontMetrics();
-                textLineHeight = mTextBounds.height();
-                textBaseBelowCenter = (textFontMetrics.bottom - textLineHeight) / 2f;
-                textWidth = mTextPaint.measureText(text);
+                textLineHeight = mText.mBounds.height();
+                textWidth = mText.mWidth;
             }
 
-            //Get the label bounds
-            if (mLabelPosition == LabelPosition.None) {
-                mLabelBounds.setEmpty();
-                labelWidth = 0;
-                labelLineHeight = 0;
-                labelBaseBelowCenter = 0;
-            } else {
-                final Paint.FontMetrics labelFontMetrics = mLabelPaint.getFontMetrics();
-                mLabelPaint.getTextBounds(
-                        mLabel,
-                        0,
-                        mLabel.length(),
-                        mLabelBounds
-                );
-                labelLineHeight = mLabelBounds.height();
-                labelBaseBelowCenter = (labelFontMetrics.bottom - labelLineHeight) / 2f;
-                labelWidth = mLabelPaint.measureText(mLabel);
+            //The layout only depends on the size of the value text
+            if (mTextLayoutValid
+                    && textWidth == mLayoutTextWidth
+                    && textLineHeight == mLayoutTextLineHeight) {
+                return;
             }
 
+            final float textBaseBelowCenter = mShowValueText
+                    ? (mStyle.getTextFontMetrics().bottom - textLineHeight) / 2f
+                    : 0;
+            final float labelLineHeight = mLabelLineHeight;
+            final float labelWidth = mLabelWidth;
+            final float labelBaseBelowCenter = mLabelBaseBelowCenter;
+
             final float boxHeight = labelLineHeight + textLineHeight;
 
             final float top = mWheelRectangle.centerY() - boxHeight / 2f;
@@ -573,56 +921,103 @@ public class CirclePickerView extends View {
                     break;
             }
 
+            mTextX = textX;
+            mTextY = textY;
+            mLabelX = labelX;
+            mLabelY = labelY;
+
+            mLayoutTextWidth = textWidth;
+            mLayoutTextLineHeight = textLineHeight;
+            mTextLayoutValid = true;
+        }
+
+        private void computeLabelMetrics() {
+            //Get the label bounds
+            if (mLabelPosition == LabelPosition.None) {
+                mLabelBounds.setEmpty();
+                mLabelWidth = 0;
+                mLabelLineHeight = 0;
+                mLabelBaseBelowCenter = 0;
+            } else {
+                mStyle.getLabelPaint().getTextBounds(
+                        mLabel,
+                        0,
+                        mLabel.length(),
+                        mLabelBounds
+                );
+                mLabelLineHeight = mLabelBounds.height();
+                mLabelBaseBelowCenter = (mStyle.getLabelFontMetrics().bottom - mLabelLineHeight) / 2f;
+                mLabelWidth = mStyle.getLabelPaint().measureText(mLabel);
+            }
+
+            mLabelMetricsValid = true;
+            mTextLayoutValid = false;
+        }
+
+        /**
+         * Recompute the label metrics and the text positions before the next frame.
+         */
+        public void invalidateTextLayout() {
+            mLabelMetricsValid = false;
+        }
+
+        private void drawValueText(Canvas canvas) {
             //Draw the value text if enabled
             if (mShowValueText) {
                 canvas.drawText(
-                        text,
-                        textX,
-                        textY,
-                        mTextPaint
+                        mText.mChars,
+                        0,
+                        mText.mLength,
+                        mTextX,
+                        mTextY,
+                        mStyle.getTextPaint()
                 );
             }
+        }
+
+        private void drawLabel(Canvas canvas) {
             if (mLabelPosition != LabelPosition.None) {
                 canvas.drawText(
                         mLabel,
-                        labelX,
-                        labelY,
-                        mLabelPaint
+                        mLabelX,
+                        mLabelY,
+                        mStyle.getLabelPaint()
                 );
             }
         }
 
-        private void drawPointer(Canvas canvas, float angle) {
+        private void drawPointer(Canvas canvas) {
             if (mShowPointer) {
-                final double backgroundStartRadians = Math.toRadians(angle);
-
-                float pointerX = (float) (mWheelRadius * Math.cos(backgroundStartRadians));
-                float pointerY = (float) (mWheelRadius * Math.sin(backgroundStartRadians));
+                final float pointerX = mPointerPosition[0];
+                final float pointerY = mPointerPosition[1];
 
                 // Draw the pointer's "halo"
                 canvas.drawCircle(
                         pointerX,
                         pointerY,
-                        mPointerRadius,
-                        mPointerHaloPaint
+                        mStyle.getPointerRadius(),
+                        mStyle.getPointerHaloPaint()
                 );
 
                 // Draw the pointer (using the currently selected color)
                 canvas.drawCircle(
                         pointerX,
                         pointerY,
-                        mPointerRadius,
-                        mPointerColorPaint
+                        mStyle.getPointerRadius(),
+                        mStyle.getPointerColorPaint()
                 );
             }
         }
 
         public void measure(int measuredWidth, int measuredHeight) {
+            if (PickerTrace.ENABLED) {
+                PickerTrace.begin("CirclePicker#measure");
+            }
             int smallerSize = Math.min(measuredWidth, measuredHeight);
 
             float radius;
             if (mWheelRadius == 0) {
-                radius = smallerSize / 2 - mPointerRadius - mPointerHaloWidth;
+                radius = smallerSize / 2 - mStyle.getPointerRadius() - mStyle.getPointerHaloWidth();
 
                 radius -= Math.max(
                         (getPaddingBottom() + getPaddingTop()) / 2,
@@ -635,8 +1030,8 @@ public class CirclePickerView extends View {
             } else {
                 radius = smallerSize > 0 ? Math.min(smallerSize, mWheelRadius) : mWheelRadius;
 
-                mTranslationOffsetX = (radius + mPointerRadius + mPointerHaloWidth);
-                mTranslationOffsetY = (radius + mPointerRadius + mPointerHaloWidth);
+                mTranslationOffsetX = (radius + mStyle.getPointerRadius() + mStyle.getPointerHaloWidth());
+                mTranslationOffsetY = (radius + mStyle.getPointerRadius() + mStyle.getPointerHaloWidth());
 
                 setMeasuredDimension(
                         (int) mTranslationOffsetX * 2 + (getPaddingBottom() + getPaddingTop()),
@@ -647,71 +1042,52 @@ public class CirclePickerView extends View {
             if (smallerSize > 0) {
                 CirclePickerView.this.setWheelRadius(radius);
             }
+            mLabelMetricsValid = false;
             mWheelRectangle.set(
                     -mWheelRadius,
                     -mWheelRadius,
                     mWheelRadius,
                     mWheelRadius
             );
+            if (PickerTrace.ENABLED) {
+                PickerTrace.end();
+            }
         }
 
-        public void setWheelBackgroundStyle(int wheelBackgroundColor, float wheelWidth) {
-            mWheelBackgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-            mWheelBackgroundPaint.setColor(wheelBackgroundColor);
-            mWheelBackgroundPaint.setStyle(Style.STROKE);
-            mWheelBackgroundPaint.setStrokeWidth(wheelWidth);
-        }
-
-        public void setWheelColorStyle(int wheelColor, float wheelWidth) {
-            mWheelColorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-            mWheelColorPaint.setColor(wheelColor);
-            mWheelColorPaint.setStyle(Style.STROKE);
-            mWheelColorPaint.setStrokeWidth(wheelWidth);
+        public void invalidateTextCache() {
+            mTextCache.invalidate();
         }
 
-        public void setDividerStyle(int dividerColor, float dividerWidth) {
-            mDividerPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-            mDividerPaint.setColor(dividerColor);
-            mDividerPaint.setStrokeWidth(dividerWidth);
+        public long getTextCacheHits() {
+            return mTextCache.getHitCount();
         }
 
-        public void setPointerStyle(int pointerColor, int pointerHaloColor, float pointerRadius, float pointerHaloWidth) {
-            mPointerRadius = pointerRadius;
-            mPointerHaloWidth = pointerHaloWidth;
-
-            mPointerHaloPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-            mPointerHaloPaint.setStyle(Style.STROKE);
-            mPointerHaloPaint.setStrokeWidth(pointerHaloWidth);
-            mPointerHaloPaint.setColor(pointerHaloColor);
-
-            mPointerColorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-            mPointerColorPaint.setStyle(Style.FILL);
-            mPointerColorPaint.setColor(pointerColor);
+        public long getTextCacheMisses() {
+            return mTextCache.getMissCount();
         }
 
-        public void setValueTextStyle(int textColor, int textSize) {
-            mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.LINEAR_TEXT_FLAG);
-            mTextPaint.setColor(textColor);
-            mTextPaint.setStyle(Style.FILL_AND_STROKE);
-            mTextPaint.setTextAlign(Align.LEFT);
-            mTextPaint.setTextSize(textSize);
+        public void setStyle(CirclePickerStyle style) {
+            mStyle = style;
+            mStaticLayerValid = false;
+            mLabelMetricsValid = false;
         }
 
-        public void setLabelStyle(LabelPosition labelPosition, int labelColor, int labelSize) {
-            mLabelPosition = labelPosition;
-
-            mLabelPaint = new Paint(Paint.ANTI_ALIAS_FLAG | Paint.LINEAR_TEXT_FLAG);
-            mLabelPaint.setColor(labelColor);
-            mLabelPaint.setStyle(Style.FILL_AND_STROKE);
-            mLabelPaint.setTextAlign(Align.LEFT);
-            mLabelPaint.setTextSize(labelSize);
+        public void setDividerLevels(int minorInterval, int majorInterval, float minSpacing) {
+            mStaticLayerValid = false;
+            mDividerPointsValid = false;
+            mMinorDividerInterval = Math.max(0, minorInterval);
+            mMajorDividerInterval = Math.max(0, majorInterval);
+            mDividerMinSpacing = minSpacing;
         }
 
         public void setLabel(String label) {
+            mLabelMetricsValid = false;
+            mStaticLayerValid = false;
             mLabel = label != null ? label : "";
         }
 
         public void setWheelRadius(float wheelRadius) {
+            mStaticLayerValid = false;
             mWheelRadius = wheelRadius;
         }
     }
@@ -722,32 +1098,115 @@ public class CirclePickerView extends View {
     private static final String STATE_PARENT = "parent";
     private static final String STATE_ANGLE = "angle";
 
-    private static final int TEXT_SIZE_DEFAULT_VALUE = 25;
-    private static final float COLOR_WHEEL_STROKE_WIDTH_DEF_VALUE = 8;
-    private static final float DIVIDER_WIDTH_DEF_VALUE = 2;
-    private static final float POINTER_RADIUS_DEF_VALUE = 8;
+    private static final float DIVIDER_MIN_SPACING_DEF_VALUE = 3;
+    private static final int DIVIDER_INTERVAL_DEF_VALUE = 0;
     private static final float WHEEL_RADIUS_DEF_VALUE = 0;
-    private static final float MAX_POINT_DEF_VALUE = Float.MAX_VALUE;
-    private static final float MIN_POINT_DEF_VALUE = -Float.MAX_VALUE;
-    private static final float CYCLE_DEF_VALUE = 0;
-    private static final float POINTER_HALO_WIDTH_DEF_VALUE = 10;
-    private static final int ZERO_OFFSET_DEF_VALUE = 0;
-    private static final float STEP_DEF_VALUE = 0.1f;
+    private static final int DISPATCH_MODE_DEF_VALUE = 0;
+    private static final float HYSTERESIS_DEF_VALUE = 0;
+
+    /**
+     * Delay between value updates in {@link DispatchMode#PerFrame} mode when {@code Choreographer} is not
+     * available (in milliseconds).
+     */
+    private static final long FALLBACK_FRAME_DELAY = 16;
+
+    /**
+     * Time between two reports of the performance statistics (in nanoseconds).
+     */
+    private static final long METRICS_REPORT_INTERVAL = 1000000000L;
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    /**
+     * Number of Bézier segments a full circle is split into when drawing the wheel.
+     */
+    private static final int ARC_POINTS_ON_CIRCLE = 8;
+
+    /**
+     * Number of value texts kept in the text cache.
+     */
+    private static final int TEXT_CACHE_SIZE = 32;
+
+    /*
+     * Divider levels, from the most frequent to the least frequent one.
+     */
+    private static final int DIVIDER_LEVEL_MICRO = 0;
+    private static final int DIVIDER_LEVEL_MINOR = 1;
+    private static final int DIVIDER_LEVEL_MAJOR = 2;
+
+    /**
+     * Major dividers reach this many pixels further outside of the wheel.
+     */
+    private static final float MAJOR_DIVIDER_EXTRA_LENGTH = 2;
+
+    /**
+     * The value counter is traced in thousandths, as the counters are integers
+     */
+    private static final double TRACE_VALUE_SCALE = 1000;
 
     private OnValueChangeListener mOnValueChangeListener;
 
+    /**
+     * Delivers the value changes to {@code mOnValueChangeListener} if it was set with an {@code Executor}.
+     */
+    private ValueChangeDispatcher mValueChangeDispatcher;
+
+    /**
+     * Records the touch events if set, see {@link #setTouchTraceRecorder(TouchTrace.Recorder)}.
+     */
+    private TouchTrace.Recorder mTouchTraceRecorder;
+
+    /**
+     * Receives the performance statistics if set. {@code mMetricsStats} is only created when a listener
+     * is set, nothing is measured without one.
+     */
+    private CirclePickerMetrics mMetricsListener;
+    private CirclePickerMetrics.Stats mMetricsStats;
+
+    /**
+     * Reports the statistics after the frame which closed the interval, so the listener doesn't run
+     * inside the measured {@code onDraw}.
+     */
+    private boolean mMetricsReportScheduled = false;
+    private final Runnable mMetricsReportRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mMetricsReportScheduled = false;
+            if (mMetricsListener != null) {
+                reportMetrics(System.nanoTime());
+            }
+        }
+    };
+
+    /**
+     * Time of the last touch event in {@link SystemClock#uptimeMillis()} base, used for the latency
+     * statistics. 0 if no touch event was seen since the metrics listener was set.
+     */
+    private long mTouchEventTime;
+
     /**
      *
      */
     private final Handler mHandler = new Handler();
 
+    private DispatchMode mDispatchMode = DispatchMode.PerEvent;
+
     /**
-     * {@code true} if the user clicked on the pointer to start the move mode.
-     * {@code false} once the user stops touching the screen.
-     *
-     * @see #onTouchEvent(MotionEvent)
+     * {@code true} if a value update is scheduled for the next frame in {@link DispatchMode#PerFrame} mode.
+     */
+    private boolean mDragUpdateScheduled = false;
+
+    /**
+     * Callbacks which apply the tracked pointer position. {@code mFrameCallback} is only created on
+     * API 16+, where {@code Choreographer} is available.
      */
-    private boolean mUserIsMovingPointer = false;
+    private Choreographer.FrameCallback mFrameCallback;
+    private final Runnable mDragUpdateRunnable = new Runnable() {
+        @Override
+        public void run() {
+            applyTrackedDrag();
+        }
+    };
 
     /**
      * {@code true} if the used touched the inside of the wheel
@@ -762,7 +1221,25 @@ public class CirclePickerView extends View {
 
     private boolean mInteractionEnabled;
 
-    private final AngleHelper mAngleHelper = new AngleHelper(this);
+    /**
+     * Turns the touch events into drags of the engine, see {@link #onTouchEvent(MotionEvent)}.
+     */
+    private final PickerGesture mGesture = new PickerGesture(new PickerGesture.Listener() {
+        @Override
+        public void onValueChanging(double value) {
+            dispatchValueChanging(value);
+            mRenderer.invalidateValue();
+        }
+
+        @Override
+        public void onValueChanged(double value) {
+            dispatchValueChanged(value);
+            if (PickerTrace.ENABLED) {
+                mRenderer.flushTraceCounters();
+            }
+        }
+    });
+    private final PickerEngine mEngine = mGesture.getEngine();
     private final CirclePickerRenderer mRenderer = new CirclePickerRenderer();
 
     public CirclePickerView(Context context) {
@@ -798,7 +1275,8 @@ public class CirclePickerView extends View {
      * @param value
      */
     public void setWheelRotation(int value) {
-        mAngleHelper.setWheelRotation(value);
+        mEngine.setWheelRotation(value);
+        mRenderer.invalidateStaticLayer();
         invalidate();
     }
 
@@ -806,7 +1284,7 @@ public class CirclePickerView extends View {
      * Set the wheel radius
      */
     public void setWheelRadius(float radius) {
-        mAngleHelper.setWheelRadius(radius);
+        mEngine.setWheelRadius(radius);
         mRenderer.setWheelRadius(radius);
         invalidate();
     }
@@ -821,6 +1299,56 @@ public class CirclePickerView extends View {
         invalidate();
     }
 
+    /**
+     * Set how often minor and major dividers are drawn.
+     * <p/>
+     * Every step has a divider; each {@code minorInterval}th step has a minor and each
+     * {@code majorInterval}th step has a major divider, which are drawn using their own style.
+     * Use 0 to disable a level.
+     *
+     * @param minorInterval Number of steps between minor dividers
+     * @param majorInterval Number of steps between major dividers
+     */
+    public void setDividerIntervals(int minorInterval, int majorInterval) {
+        mRenderer.setDividerLevels(minorInterval, majorInterval, mRenderer.mDividerMinSpacing);
+        invalidate();
+    }
+
+    /**
+     * Set the minimum distance between dividers of the same level.
+     * <p/>
+     * Levels which would be drawn closer to each other are hidden, so fine steps don't produce more
+     * dividers than what can be seen.
+     *
+     * @param minSpacing The minimum distance in pixels
+     */
+    public void setDividerMinSpacing(float minSpacing) {
+        mRenderer.setDividerLevels(
+                mRenderer.mMinorDividerInterval,
+                mRenderer.mMajorDividerInterval,
+                minSpacing
+        );
+        invalidate();
+    }
+
+    /**
+     * Set the colors, stroke widths and text sizes. The style is shared, it may be used by other pickers
+     * at the same time.
+     *
+     * @param style
+     */
+    public void setStyle(@NonNull CirclePickerStyle style) {
+        mRenderer.setStyle(style);
+        mRenderer.invalidateTextLayout();
+        //The pointer size is part of the padding
+        requestLayout();
+        invalidate();
+    }
+
+    public CirclePickerStyle getStyle() {
+        return mRenderer.mStyle;
+    }
+
     /**
      * Show or hide the value text in the middle
      *
@@ -828,11 +1356,14 @@ public class CirclePickerView extends View {
      */
     public void setShowValueText(boolean enabled) {
         mRenderer.mShowValueText = enabled;
+        mRenderer.invalidateTextLayout();
         invalidate();
     }
 
     public void setLabelPosition(LabelPosition labelPosition) {
         mRenderer.mLabelPosition = labelPosition;
+        mRenderer.invalidateStaticLayer();
+        mRenderer.invalidateTextLayout();
         invalidate();
     }
 
@@ -846,6 +1377,93 @@ public class CirclePickerView extends View {
         invalidate();
     }
 
+    /**
+     * Render the wheel background and the label into an offscreen bitmap which is only redrawn when one
+     * of them changes. Each frame then only draws the active part of the wheel, the dividers, the pointer
+     * and the value text.
+     *
+     * @param enabled
+     */
+    public void setStaticLayerCacheEnabled(boolean enabled) {
+        mRenderer.setStaticLayerEnabled(enabled);
+        invalidate();
+    }
+
+    /**
+     * Set how often the value is updated while the pointer is dragged.
+     * <p/>
+     * In {@link DispatchMode#PerFrame} mode every touch event is tracked, but the value is updated and
+     * {@link OnValueChangeListener#onValueChanging(CirclePickerView, double)} is called at most once per frame.
+     *
+     * @param dispatchMode
+     */
+    public void setDispatchMode(DispatchMode dispatchMode) {
+        if (dispatchMode == DispatchMode.PerEvent) {
+            //Don't lose the already tracked position
+            flushTrackedDrag();
+        }
+        mDispatchMode = dispatchMode;
+    }
+
+    /**
+     * Set the width of the hysteresis band around the step boundaries.
+     * <p/>
+     * While dragging, the pointer has to be moved this far past the boundary of the selected step to select
+     * the neighbouring one, so jitter near a boundary doesn't flip the value back and forth. The width is
+     * limited to half a step.
+     *
+     * @param degrees The width of the band in degrees
+     */
+    public void setStepHysteresis(float degrees) {
+        mEngine.setHysteresis(degrees);
+    }
+
+    /**
+     * Set the {@code AngleSolver} used to compute the angle of the touch positions.
+     * <p/>
+     * By default a {@link FastAngleSolver} is used. The solver only affects the speed, the selected values
+     * are the same as with the exact {@code Math.atan2}.
+     *
+     * @param angleSolver
+     */
+    public void setAngleSolver(@NonNull AngleSolver angleSolver) {
+        mEngine.setAngleSolver(angleSolver);
+    }
+
+    /**
+     * Record the touch events of the picker into the given recorder, or stop recording if it is
+     * {@code null}.
+     * <p/>
+     * The recorded trace can be replayed without the view using a
+     * {@link hu.bugadani.circlepickerlib.trace.TouchTraceReplayer} configured like this picker.
+     *
+     * @param recorder
+     */
+    public void setTouchTraceRecorder(TouchTrace.Recorder recorder) {
+        mTouchTraceRecorder = recorder;
+    }
+
+    /**
+     * Set the listener which receives the performance statistics of the picker, or {@code null} to stop
+     * collecting them. The statistics are only collected while a listener is set.
+     * <p/>
+     * If the value change listener is called on an {@code Executor}, the listener durations are not
+     * measured and the touch latencies end when the value change is handed to the executor.
+     *
+     * @param listener
+     */
+    public void setMetricsListener(CirclePickerMetrics listener) {
+        mMetricsListener = listener;
+        //A touch event seen before can't be the cause of the next value change
+        mTouchEventTime = 0;
+        if (listener != null) {
+            if (mMetricsStats == null) {
+                mMetricsStats = new CirclePickerMetrics.Stats();
+            }
+            startMetricsInterval(System.nanoTime());
+        }
+    }
+
     /**
      * Set the difference between two selectable values
      * <p/>
@@ -854,7 +1472,8 @@ public class CirclePickerView extends View {
      * @param step
      */
     public void setSteps(float step) {
-        mAngleHelper.setStep(step);
+        mEngine.setStep(step);
+        mRenderer.invalidateTextCache();
         invalidate();
     }
 
@@ -869,21 +1488,29 @@ public class CirclePickerView extends View {
         setRendererStyles(a);
 
         mInteractionEnabled = a.getBoolean(R.styleable.CirclePickerView_interactive, true);
+        int dispatchMode = a.getInt(
+                R.styleable.CirclePickerView_dispatchMode,
+                DISPATCH_MODE_DEF_VALUE
+        );
+        mDispatchMode = DispatchMode.values()[dispatchMode];
 
-        mAngleHelper.setMaxValue(
-                a.getFloat(R.styleable.CirclePickerView_max, MAX_POINT_DEF_VALUE)
+        mEngine.setMaxValue(
+                a.getFloat(R.styleable.CirclePickerView_max, PickerState.MAX_VALUE_DEF_VALUE)
+        );
+        mEngine.setMinValue(
+                a.getFloat(R.styleable.CirclePickerView_min, PickerState.MIN_VALUE_DEF_VALUE)
         );
-        mAngleHelper.setMinValue(
-                a.getFloat(R.styleable.CirclePickerView_min, MIN_POINT_DEF_VALUE)
+        mEngine.setStep(
+                a.getFloat(R.styleable.CirclePickerView_step, PickerState.STEP_DEF_VALUE)
         );
-        mAngleHelper.setStep(
-                a.getFloat(R.styleable.CirclePickerView_step, STEP_DEF_VALUE)
+        mEngine.setCycleValue(
+                a.getFloat(R.styleable.CirclePickerView_cycleValue, PickerState.CYCLE_DEF_VALUE)
         );
-        mAngleHelper.setCycleValue(
-                a.getFloat(R.styleable.CirclePickerView_cycleValue, CYCLE_DEF_VALUE)
+        mEngine.setWheelRotation(
+                a.getInteger(R.styleable.CirclePickerView_wheelRotation, PickerState.WHEEL_ROTATION_DEF_VALUE)
         );
-        mAngleHelper.setWheelRotation(
-                a.getInteger(R.styleable.CirclePickerView_wheelRotation, ZERO_OFFSET_DEF_VALUE)
+        mEngine.setHysteresis(
+                a.getFloat(R.styleable.CirclePickerView_stepHysteresis, HYSTERESIS_DEF_VALUE)
         );
 
         setValue(a.getFloat(R.styleable.CirclePickerView_value, 0));
@@ -895,7 +1522,7 @@ public class CirclePickerView extends View {
         //Get size values
         int textSize = a.getDimensionPixelSize(
                 R.styleable.CirclePickerView_textSize,
-                TEXT_SIZE_DEFAULT_VALUE
+                CirclePickerStyle.TEXT_SIZE_DEF_VALUE
         );
         int labelSize = a.getDimensionPixelSize(
                 R.styleable.CirclePickerView_labelSize,
@@ -903,25 +1530,53 @@ public class CirclePickerView extends View {
         );
         float wheelWidth = a.getDimension(
                 R.styleable.CirclePickerView_wheelStrokeWidth,
-                COLOR_WHEEL_STROKE_WIDTH_DEF_VALUE
+                CirclePickerStyle.WHEEL_STROKE_WIDTH_DEF_VALUE
         );
         float dividerWidth = a.getDimension(
                 R.styleable.CirclePickerView_dividerWidth,
-                DIVIDER_WIDTH_DEF_VALUE
+                CirclePickerStyle.DIVIDER_WIDTH_DEF_VALUE
+        );
+        float minorDividerWidth = a.getDimension(
+                R.styleable.CirclePickerView_dividerMinorWidth,
+                dividerWidth
+        );
+        float majorDividerWidth = a.getDimension(
+                R.styleable.CirclePickerView_dividerMajorWidth,
+                dividerWidth
+        );
+        float dividerMinSpacing = a.getDimension(
+                R.styleable.CirclePickerView_dividerMinSpacing,
+                DIVIDER_MIN_SPACING_DEF_VALUE
         );
 
         //Get color values
         int wheelColor = a.getColor(
                 R.styleable.CirclePickerView_wheelActiveColor,
-                Color.CYAN
+                CirclePickerStyle.WHEEL_COLOR_DEF_VALUE
         );
         int wheelBackgroundColor = a.getColor(
                 R.styleable.CirclePickerView_wheelBackgroundColor,
-                Color.DKGRAY
+                CirclePickerStyle.WHEEL_BACKGROUND_COLOR_DEF_VALUE
         );
         int dividerColor = a.getColor(
                 R.styleable.CirclePickerView_dividerColor,
-                Color.DKGRAY
+                CirclePickerStyle.DIVIDER_COLOR_DEF_VALUE
+        );
+        int minorDividerColor = a.getColor(
+                R.styleable.CirclePickerView_dividerMinorColor,
+                dividerColor
+        );
+        int majorDividerColor = a.getColor(
+                R.styleable.CirclePickerView_dividerMajorColor,
+                dividerColor
+        );
+        int minorDividerInterval = a.getInteger(
+                R.styleable.CirclePickerView_dividerMinorInterval,
+                DIVIDER_INTERVAL_DEF_VALUE
+        );
+        int majorDividerInterval = a.getInteger(
+                R.styleable.CirclePickerView_dividerMajorInterval,
+                DIVIDER_INTERVAL_DEF_VALUE
         );
         int pointerColor = a.getColor(
                 R.styleable.CirclePickerView_pointerColor,
@@ -941,11 +1596,11 @@ public class CirclePickerView extends View {
         );
         float pointerRadius = a.getDimension(
                 R.styleable.CirclePickerView_pointerRadius,
-                POINTER_RADIUS_DEF_VALUE
+                CirclePickerStyle.POINTER_RADIUS_DEF_VALUE
         );
         float pointerHaloWidth = a.getDimension(
                 R.styleable.CirclePickerView_pointerHaloWidth,
-                POINTER_HALO_WIDTH_DEF_VALUE
+                CirclePickerStyle.POINTER_HALO_WIDTH_DEF_VALUE
         );
         float wheelRadius = a.getDimension(
                 R.styleable.CirclePickerView_wheelRadius,
@@ -959,25 +1614,84 @@ public class CirclePickerView extends View {
                         : LabelPosition.Above.ordinal()
         );
 
-        mAngleHelper.setWheelRadius(wheelRadius);
+        mEngine.setWheelRadius(wheelRadius);
         mRenderer.setWheelRadius(wheelRadius);
 
         mRenderer.mShowDivider = a.getBoolean(R.styleable.CirclePickerView_showDivider, false);
         mRenderer.mShowPointer = a.getBoolean(R.styleable.CirclePickerView_showPointer, true);
         mRenderer.mShowValueText = a.getBoolean(R.styleable.CirclePickerView_showValueText, true);
-
-        mRenderer.setWheelBackgroundStyle(wheelBackgroundColor, wheelWidth);
-        mRenderer.setWheelColorStyle(wheelColor, wheelWidth);
-        mRenderer.setDividerStyle(dividerColor, dividerWidth);
-        mRenderer.setPointerStyle(pointerColor, pointerHaloColor, pointerRadius, pointerHaloWidth);
-        mRenderer.setValueTextStyle(textColor, textSize);
+        mRenderer.mStaticLayerEnabled = a.getBoolean(R.styleable.CirclePickerView_staticLayerCache, false);
+
+        //Pickers with the same attributes share the style instance and its paints
+        mRenderer.setStyle(
+                new CirclePickerStyle.Builder()
+                        .setWheelColor(wheelColor)
+                        .setWheelBackgroundColor(wheelBackgroundColor)
+                        .setWheelWidth(wheelWidth)
+                        .setDividerStyle(dividerColor, dividerWidth)
+                        .setMinorDividerStyle(minorDividerColor, minorDividerWidth)
+                        .setMajorDividerStyle(majorDividerColor, majorDividerWidth)
+                        .setPointerStyle(pointerColor, pointerHaloColor, pointerRadius, pointerHaloWidth)
+                        .setValueTextStyle(textColor, textSize)
+                        .setLabelStyle(labelColor, labelSize)
+                        .build()
+        );
+        mRenderer.setDividerLevels(minorDividerInterval, majorDividerInterval, dividerMinSpacing);
         mRenderer.setLabel(label);
-        mRenderer.setLabelStyle(LabelPosition.values()[labelPosition], labelColor, labelSize);
+        mRenderer.mLabelPosition = LabelPosition.values()[labelPosition];
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
+        if (mMetricsListener == null) {
+            mRenderer.draw(canvas);
+            return;
+        }
+
+        final long start = System.nanoTime();
         mRenderer.draw(canvas);
+        final long end = System.nanoTime();
+
+        mMetricsStats.mDrawDurations.record(end - start);
+        mMetricsStats.mDraws++;
+        if (!mMetricsReportScheduled && end - mMetricsStats.mIntervalStart >= METRICS_REPORT_INTERVAL) {
+            mMetricsReportScheduled = true;
+            mHandler.post(mMetricsReportRunnable);
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        flushTrackedDrag();
+        mHandler.removeCallbacks(mMetricsReportRunnable);
+        mMetricsReportScheduled = false;
+        if (mMetricsListener != null && mMetricsStats.mDraws > 0) {
+            reportMetrics(System.nanoTime());
+        }
+        mRenderer.releaseStaticLayer();
+    }
+
+    private void startMetricsInterval(long now) {
+        mMetricsStats.start(
+                now,
+                mRenderer.getTextCacheHits(),
+                mRenderer.getTextCacheMisses(),
+                mRenderer.mStaticLayerHits,
+                mRenderer.mStaticLayerRedraws
+        );
+    }
+
+    private void reportMetrics(long now) {
+        mMetricsStats.finish(
+                now,
+                mRenderer.getTextCacheHits(),
+                mRenderer.getTextCacheMisses(),
+                mRenderer.mStaticLayerHits,
+                mRenderer.mStaticLayerRedraws
+        );
+        mMetricsListener.onMetrics(this, mMetricsStats);
+        startMetricsInterval(now);
     }
 
     @Override
@@ -996,17 +1710,31 @@ public class CirclePickerView extends View {
         float x = event.getX() - mRenderer.mTranslationOffsetX;
         float y = event.getY() - mRenderer.mTranslationOffsetY;
 
-        switch (event.getAction()) {
+        if (mTouchTraceRecorder != null) {
+            recordTouch(mTouchTraceRecorder, event, x, y);
+        }
+        if (mMetricsListener != null) {
+            mTouchEventTime = event.getEventTime();
+        }
+
+        final int action = event.getAction();
+        final boolean deferred = mDispatchMode == DispatchMode.PerFrame;
+        switch (action) {
             case MotionEvent.ACTION_DOWN:
                 // Check whether the user pressed on (or near) the pointer
-                switch (mAngleHelper.handleTouch(x, y)) {
+                if (PickerTrace.ENABLED) {
+                    PickerTrace.begin("CirclePicker#handleTouch");
+                }
+                final PickerEngine.TouchPosition touchPosition = mGesture.handle(action, x, y, deferred);
+                if (PickerTrace.ENABLED) {
+                    PickerTrace.end();
+                }
+                switch (touchPosition) {
                     case OnWheel:
-                        mUserIsMovingPointer = true;
                         mLongPressed = false;
                         mPressed = false;
                         break;
                     case Inside:
-                        mUserIsMovingPointer = false;
                         mLongPressed = false;
                         mPressed = true;
                         mHandler.postDelayed(new Runnable() {
@@ -1019,9 +1747,29 @@ public class CirclePickerView extends View {
                         }, ViewConfiguration.getLongPressTimeout());
                         break;
                 }
+                if (mGesture.isDragging()) {
+                    if (deferred) {
+                        scheduleDragUpdate();
+                    }
+                    // Fix scrolling
+                    if (getParent() != null) {
+                        getParent().requestDisallowInterceptTouchEvent(true);
+                    }
+                }
+                break;
             case MotionEvent.ACTION_MOVE:
-                if (mUserIsMovingPointer) {
-                    mAngleHelper.handleDrag(x, y);
+                if (mGesture.isDragging()) {
+                    if (deferred) {
+                        trackDrag(event, x, y);
+                    } else {
+                        if (PickerTrace.ENABLED) {
+                            PickerTrace.begin("CirclePicker#handleDrag");
+                        }
+                        mGesture.handle(action, x, y, false);
+                        if (PickerTrace.ENABLED) {
+                            PickerTrace.end();
+                        }
+                    }
                     // Fix scrolling
                     if (getParent() != null) {
                         getParent().requestDisallowInterceptTouchEvent(true);
@@ -1029,16 +1777,16 @@ public class CirclePickerView extends View {
                 }
                 break;
             case MotionEvent.ACTION_CANCEL:
-                mUserIsMovingPointer = false;
+                cancelDragUpdate();
+                mGesture.handle(action, x, y, deferred);
                 mPressed = false;
                 mLongPressed = false;
                 break;
             case MotionEvent.ACTION_UP:
-                if (mUserIsMovingPointer) {
-                    mUserIsMovingPointer = false;
-                    if (mOnValueChangeListener != null) {
-                        mOnValueChangeListener.onValueChanged(this, mAngleHelper.getValue());
-                    }
+                if (mGesture.isDragging()) {
+                    //The gesture applies the tracked position itself
+                    cancelDragUpdate();
+                    mGesture.handle(action, x, y, deferred);
                 } else if (mPressed && !mLongPressed) {
                     performClick();
                 }
@@ -1048,13 +1796,114 @@ public class CirclePickerView extends View {
         return true;
     }
 
+    /**
+     * Record every sample of the event, including the historical samples of a move event.
+     */
+    private void recordTouch(TouchTrace.Recorder recorder, MotionEvent event, float x, float y) {
+        recorder.setWheelRadius(mRenderer.mWheelRadius);
+
+        //Without the pointer index bits, so the events of other pointers keep their action
+        final int action = event.getActionMasked();
+        if (action == MotionEvent.ACTION_MOVE) {
+            final float offsetX = x - event.getX();
+            final float offsetY = y - event.getY();
+            final int historySize = event.getHistorySize();
+            for (int i = 0; i < historySize; i++) {
+                recorder.record(
+                        event.getHistoricalEventTime(i),
+                        action,
+                        event.getHistoricalX(i) + offsetX,
+                        event.getHistoricalY(i) + offsetY
+                );
+            }
+        }
+        recorder.record(event.getEventTime(), action, x, y);
+    }
+
+    /**
+     * Track every sample of a move event and schedule a value update for the next frame.
+     */
+    private void trackDrag(MotionEvent event, float x, float y) {
+        if (PickerTrace.ENABLED) {
+            PickerTrace.begin("CirclePicker#trackDrag");
+        }
+        final float offsetX = x - event.getX();
+        final float offsetY = y - event.getY();
+        final int historySize = event.getHistorySize();
+        for (int i = 0; i < historySize; i++) {
+            mGesture.handle(
+                    MotionEvent.ACTION_MOVE,
+                    event.getHistoricalX(i) + offsetX,
+                    event.getHistoricalY(i) + offsetY,
+                    true
+            );
+        }
+        mGesture.handle(MotionEvent.ACTION_MOVE, x, y, true);
+        if (PickerTrace.ENABLED) {
+            PickerTrace.end();
+        }
+
+        scheduleDragUpdate();
+    }
+
+    private void scheduleDragUpdate() {
+        if (!mDragUpdateScheduled) {
+            mDragUpdateScheduled = true;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                if (mFrameCallback == null) {
+                    mFrameCallback = new Choreographer.FrameCallback() {
+                        @Override
+                        public void doFrame(long frameTimeNanos) {
+                            applyTrackedDrag();
+                        }
+                    };
+                }
+                Choreographer.getInstance().postFrameCallback(mFrameCallback);
+            } else {
+                mHandler.postDelayed(mDragUpdateRunnable, FALLBACK_FRAME_DELAY);
+            }
+        }
+    }
+
+    private void cancelDragUpdate() {
+        if (mDragUpdateScheduled) {
+            mDragUpdateScheduled = false;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                Choreographer.getInstance().removeFrameCallback(mFrameCallback);
+            } else {
+                mHandler.removeCallbacks(mDragUpdateRunnable);
+            }
+        }
+    }
+
+    /**
+     * Apply the tracked pointer position now instead of waiting for the next frame.
+     */
+    private void flushTrackedDrag() {
+        if (mDragUpdateScheduled) {
+            cancelDragUpdate();
+            applyTrackedDrag();
+        }
+    }
+
+    private void applyTrackedDrag() {
+        mDragUpdateScheduled = false;
+        if (PickerTrace.ENABLED) {
+            PickerTrace.begin("CirclePicker#resolveDrag");
+        }
+        mGesture.resolve();
+        if (PickerTrace.ENABLED) {
+            PickerTrace.end();
+        }
+    }
+
     @Override
     protected Parcelable onSaveInstanceState() {
         Parcelable superState = super.onSaveInstanceState();
 
         Bundle state = new Bundle();
         state.putParcelable(STATE_PARENT, superState);
-        state.putDouble(STATE_ANGLE, mAngleHelper.getAngle());
+        state.putDouble(STATE_ANGLE, mEngine.getAngle());
 
         return state;
     }
@@ -1066,7 +1915,7 @@ public class CirclePickerView extends View {
         Parcelable superState = savedState.getParcelable(STATE_PARENT);
         super.onRestoreInstanceState(superState);
 
-        mAngleHelper.setAngle(savedState.getDouble(STATE_ANGLE));
+        mEngine.setAngle(savedState.getDouble(STATE_ANGLE));
     }
 
     /**
@@ -1075,23 +1924,217 @@ public class CirclePickerView extends View {
      * @return the value between 0 and mMaxValue
      */
     public double getValue() {
-        return mAngleHelper.getValue();
+        return mEngine.getValue();
     }
 
     public void setValue(double value) {
-        mAngleHelper.setValue(value);
+        mEngine.setValue(value);
+    }
+
+    /**
+     * Apply the configuration and the value of a state at once, for example when the picker is bound to a
+     * {@code RecyclerView} row. Unlike calling the setters one by one, this recomputes the cycle once and
+     * invalidates the view once.
+     * <p/>
+     * A gesture in progress is cancelled and the listener is not notified. The label position is kept.
+     *
+     * @param state
+     * @throws IllegalArgumentException if the step is not positive or the limits are reversed
+     * @throws IllegalStateException    if neither the limits nor the cycle value are set
+     */
+    public void bind(@NonNull PickerState state) {
+        cancelDragUpdate();
+        mGesture.cancel();
+        mPressed = false;
+        mLongPressed = false;
+
+        final boolean stepChanged = state.getStep() != mEngine.getStep();
+        final boolean wheelChanged = stepChanged
+                || state.getMinValue() != mEngine.getMinValue()
+                || state.getMaxValue() != mEngine.getMaxValue()
+                || state.getCycleValue() != mEngine.getCycleValue()
+                || state.getWheelRotation() != mEngine.getWheelRotation();
+
+        mEngine.configure(
+                state.getMinValue(),
+                state.getMaxValue(),
+                state.getStep(),
+                state.getCycleValue(),
+                state.getWheelRotation(),
+                state.getValue()
+        );
+
+        if (stepChanged) {
+            mRenderer.invalidateTextCache();
+        }
+        if (wheelChanged) {
+            mRenderer.invalidateStaticLayer();
+        }
+        //Measuring the label is the expensive part, skip it for rows with the same label
+        if (!state.getLabel().equals(mRenderer.mLabel)) {
+            mRenderer.setLabel(state.getLabel());
+        }
+        invalidate();
+    }
+
+    /**
+     * Returns the current configuration and value. Doesn't change the picker, cheap enough to call from
+     * {@link OnValueChangeListener} callbacks.
+     */
+    public PickerState snapshot() {
+        return new PickerState(
+                mEngine.getMinValue(),
+                mEngine.getMaxValue(),
+                mEngine.getStep(),
+                mEngine.getCycleValue(),
+                mEngine.getWheelRotation(),
+                mEngine.getValue(),
+                mRenderer.mLabel
+        );
+    }
+
+    /**
+     * Start changing the configuration of the picker. The changes are validated together and applied at once
+     * by {@link Editor#apply()}, so a partially applied configuration is never used:
+     * <pre>
+     * picker.edit().min(-180).max(180).step(15).cycle(0).apply();
+     * </pre>
+     */
+    public Editor edit() {
+        return new Editor(snapshot());
+    }
+
+    /**
+     * Collects configuration changes of a picker, see {@link #edit()}. The value is kept unless it is changed
+     * too, it is clamped to the new limits and moved to the closest step.
+     */
+    public final class Editor {
+
+        private final PickerState.Builder mBuilder;
+
+        private Editor(PickerState state) {
+            mBuilder = new PickerState.Builder(state);
+        }
+
+        public Editor min(double minValue) {
+            mBuilder.setMinValue(minValue);
+            return this;
+        }
+
+        public Editor max(double maxValue) {
+            mBuilder.setMaxValue(maxValue);
+            return this;
+        }
+
+        public Editor step(float step) {
+            mBuilder.setStep(step);
+            return this;
+        }
+
+        /**
+         * Set the value of a full turn, 0 to compute it from the limits
+         */
+        public Editor cycle(double cycleValue) {
+            mBuilder.setCycleValue(cycleValue);
+            return this;
+        }
+
+        public Editor rotation(int wheelRotation) {
+            mBuilder.setWheelRotation(wheelRotation);
+            return this;
+        }
+
+        public Editor value(double value) {
+            mBuilder.setValue(value);
+            return this;
+        }
+
+        public Editor label(String label) {
+            mBuilder.setLabel(label);
+            return this;
+        }
+
+        /**
+         * Validate and apply the changes, like {@link #bind(PickerState)}. An invalid configuration leaves the
+         * picker unchanged.
+         *
+         * @throws IllegalArgumentException if the step is not positive or the limits are reversed
+         * @throws IllegalStateException    if neither the limits nor the cycle value are set
+         */
+        public void apply() {
+            bind(mBuilder.build());
+        }
+    }
+
+    private void dispatchValueChanging(double value) {
+        final boolean measure = mMetricsListener != null;
+        final long start = measure ? System.nanoTime() : 0;
+        //Only changes caused by a touch event seen since the listener was set have a latency
+        if (measure && mTouchEventTime != 0 && mGesture.isDragging()) {
+            //Both clocks are based on CLOCK_MONOTONIC
+            mMetricsStats.mTouchLatencies.record(start - mTouchEventTime * NANOS_PER_MILLI);
+        }
+
+        if (PickerTrace.ENABLED) {
+            PickerTrace.begin("CirclePicker#onValueChanging");
+        }
+        if (mValueChangeDispatcher != null) {
+            mValueChangeDispatcher.dispatchValueChanging(value);
+        } else if (mOnValueChangeListener != null) {
+            mOnValueChangeListener.onValueChanging(this, value);
+            if (measure) {
+                mMetricsStats.mListenerDurations.record(System.nanoTime() - start);
+            }
+        }
+        if (PickerTrace.ENABLED) {
+            PickerTrace.end();
+        }
     }
 
-    private void updateValue(double value) {
-        if (mUserIsMovingPointer) {
-            if (mOnValueChangeListener != null) {
-                mOnValueChangeListener.onValueChanging(this, value);
+    private void dispatchValueChanged(double value) {
+        if (PickerTrace.ENABLED) {
+            PickerTrace.begin("CirclePicker#onValueChanged");
+        }
+        if (mValueChangeDispatcher != null) {
+            mValueChangeDispatcher.dispatchValueChanged(value);
+        } else if (mOnValueChangeListener != null) {
+            final boolean measure = mMetricsListener != null;
+            final long start = measure ? System.nanoTime() : 0;
+            mOnValueChangeListener.onValueChanged(this, value);
+            if (measure) {
+                mMetricsStats.mListenerDurations.record(System.nanoTime() - start);
             }
-            invalidate();
+        }
+        if (PickerTrace.ENABLED) {
+            PickerTrace.end();
         }
     }
 
     public void setOnValueChangeListener(OnValueChangeListener listener) {
+        setOnValueChangeListener(listener, null);
+    }
+
+    /**
+     * Set the listener to be notified about value changes on the given {@code Executor}.
+     * <p/>
+     * The UI thread never waits for the listener. Values changing while the listener is busy are conflated,
+     * so only the latest one is delivered, and {@code onValueChanged} is always delivered after every
+     * {@code onValueChanging} of the same drag. Callbacks are never run concurrently.
+     * <p/>
+     * The durations of the callbacks run on the executor are not included in the statistics of the
+     * {@link CirclePickerMetrics} listener.
+     *
+     * @param listener The listener
+     * @param executor The {@code Executor} to call the listener on, or {@code null} to call it directly
+     *                 from the touch event handler
+     */
+    public void setOnValueChangeListener(OnValueChangeListener listener, Executor executor) {
+        if (mValueChangeDispatcher != null) {
+            mValueChangeDispatcher.cancel();
+        }
         mOnValueChangeListener = listener;
+        mValueChangeDispatcher = listener != null && executor != null
+                ? new ValueChangeDispatcher(this, listener, executor)
+                : null;
     }
 }
@@ -0,0 +1,215 @@
+package hu.bugadani.circlepickerlib;
+
+/**
+ * Immutable snapshot of the configuration and the value of a {@link CirclePickerView}: the limits, the step, the
+ * cycle value, the wheel rotation, the value and the label.
+ * <p/>
+ * Meant for pickers in a {@code RecyclerView}: keep a state per item, apply it with
+ * {@link CirclePickerView#bind(PickerState)} when the row is bound and store {@link CirclePickerView#snapshot()}
+ * when the value changes.
+ */
+public final class PickerState {
+
+    static final float MAX_VALUE_DEF_VALUE = Float.MAX_VALUE;
+    static final float MIN_VALUE_DEF_VALUE = -Float.MAX_VALUE;
+    static final float CYCLE_DEF_VALUE = 0;
+    static final int WHEEL_ROTATION_DEF_VALUE = 0;
+    static final float STEP_DEF_VALUE = 0.1f;
+
+    private final double mMinValue;
+    private final double mMaxValue;
+    private final float mStep;
+    private final double mCycleValue;
+    private final int mWheelRotation;
+    private final double mValue;
+    private final String mLabel;
+
+    private PickerState(Builder builder) {
+        mMinValue = builder.mMinValue;
+        mMaxValue = builder.mMaxValue;
+        mStep = builder.mStep;
+        mCycleValue = builder.mCycleValue;
+        mWheelRotation = builder.mWheelRotation;
+        mValue = builder.mValue;
+        mLabel = builder.mLabel;
+    }
+
+    PickerState(double minValue, double maxValue, float step, double cycleValue, int wheelRotation, double value,
+                String label) {
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+        mStep = step;
+        mCycleValue = cycleValue;
+        mWheelRotation = wheelRotation;
+        mValue = value;
+        mLabel = label;
+    }
+
+    public double getMinValue() {
+        return mMinValue;
+    }
+
+    public double getMaxValue() {
+        return mMaxValue;
+    }
+
+    public float getStep() {
+        return mStep;
+    }
+
+    /**
+     * Returns the value of a full turn, 0 if it is computed from the limits
+     */
+    public double getCycleValue() {
+        return mCycleValue;
+    }
+
+    public int getWheelRotation() {
+        return mWheelRotation;
+    }
+
+    public double getValue() {
+        return mValue;
+    }
+
+    /**
+     * Returns the label, an empty string if there is none
+     */
+    public String getLabel() {
+        return mLabel;
+    }
+
+    /**
+     * Returns a state which only differs from this one in its value
+     */
+    public PickerState withValue(double value) {
+        if (value == mValue) {
+            return this;
+        }
+        return new PickerState(mMinValue, mMaxValue, mStep, mCycleValue, mWheelRotation, value, mLabel);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PickerState)) {
+            return false;
+        }
+        final PickerState other = (PickerState) o;
+        return Double.compare(mMinValue, other.mMinValue) == 0
+                && Double.compare(mMaxValue, other.mMaxValue) == 0
+                && Float.compare(mStep, other.mStep) == 0
+                && Double.compare(mCycleValue, other.mCycleValue) == 0
+                && mWheelRotation == other.mWheelRotation
+                && Double.compare(mValue, other.mValue) == 0
+                && mLabel.equals(other.mLabel);
+    }
+
+    @Override
+    public int hashCode() {
+        long bits = Double.doubleToLongBits(mMinValue);
+        int result = (int) (bits ^ (bits >>> 32));
+        bits = Double.doubleToLongBits(mMaxValue);
+        result = 31 * result + (int) (bits ^ (bits >>> 32));
+        result = 31 * result + Float.floatToIntBits(mStep);
+        bits = Double.doubleToLongBits(mCycleValue);
+        result = 31 * result + (int) (bits ^ (bits >>> 32));
+        result = 31 * result + mWheelRotation;
+        bits = Double.doubleToLongBits(mValue);
+        result = 31 * result + (int) (bits ^ (bits >>> 32));
+        result = 31 * result + mLabel.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PickerState{min=" + mMinValue
+                + ", max=" + mMaxValue
+                + ", step=" + mStep
+                + ", cycle=" + mCycleValue
+                + ", rotation=" + mWheelRotation
+                + ", value=" + mValue
+                + ", label=" + mLabel
+                + "}";
+    }
+
+    /**
+     * Builds {@link PickerState} instances. The defaults are the same as the defaults of the layout attributes.
+     */
+    public static final class Builder {
+
+        private double mMinValue = MIN_VALUE_DEF_VALUE;
+        private double mMaxValue = MAX_VALUE_DEF_VALUE;
+        private float mStep = STEP_DEF_VALUE;
+        private double mCycleValue = CYCLE_DEF_VALUE;
+        private int mWheelRotation = WHEEL_ROTATION_DEF_VALUE;
+        private double mValue;
+        private String mLabel = "";
+
+        public Builder() {
+        }
+
+        /**
+         * Start from the values of an existing state
+         */
+        public Builder(PickerState state) {
+            mMinValue = state.mMinValue;
+            mMaxValue = state.mMaxValue;
+            mStep = state.mStep;
+            mCycleValue = state.mCycleValue;
+            mWheelRotation = state.mWheelRotation;
+            mValue = state.mValue;
+            mLabel = state.mLabel;
+        }
+
+        public Builder setLimits(double minValue, double maxValue) {
+            mMinValue = minValue;
+            mMaxValue = maxValue;
+            return this;
+        }
+
+        public Builder setMinValue(double minValue) {
+            mMinValue = minValue;
+            return this;
+        }
+
+        public Builder setMaxValue(double maxValue) {
+            mMaxValue = maxValue;
+            return this;
+        }
+
+        public Builder setStep(float step) {
+            mStep = step;
+            return this;
+        }
+
+        /**
+         * Set the value of a full turn, 0 to compute it from the limits
+         */
+        public Builder setCycleValue(double cycleValue) {
+            mCycleValue = cycleValue;
+            return this;
+        }
+
+        public Builder setWheelRotation(int wheelRotation) {
+            mWheelRotation = wheelRotation;
+            return this;
+        }
+
+        public Builder setValue(double value) {
+            mValue = value;
+            return this;
+        }
+
+        public Builder setLabel(String label) {
+            mLabel = label != null ? label : "";
+            return this;
+        }
+
+        public PickerState build() {
+            return new PickerState(this);
+        }
+    }
+}
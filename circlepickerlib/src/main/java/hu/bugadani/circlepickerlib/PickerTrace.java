@@ -0,0 +1,144 @@
+package hu.bugadani.circlepickerlib;
+
+import android.os.Build;
+import android.os.Trace;
+import android.util.Log;
+
+import java.lang.reflect.Method;
+
+/**
+ * Emits system trace sections and counters, which show up in systrace and Perfetto.
+ * <p/>
+ * Every call site is guarded by {@link #ENABLED}, which is a compile time constant, so the calls are removed
+ * from the bytecode unless the library is built with {@code -PcirclePickerTrace}.
+ */
+final class PickerTrace {
+
+    private static final String TAG = "PickerTrace";
+
+    static final boolean ENABLED = BuildConfig.TRACE_SECTIONS;
+
+    /**
+     * {@code Trace.TRACE_TAG_VIEW}, the tag of the hidden counter method
+     */
+    private static final long TRACE_TAG_VIEW = 1L << 3;
+
+    /**
+     * The counter methods aren't public below API 29, they are looked up on first use.
+     * {@code sSetCounter} is {@code Trace.setCounter(String, long)} on API 29+,
+     * {@code sTraceCounter} is {@code Trace.traceCounter(long, String, int)} below.
+     * The argument arrays are reused, the counters are only set from the UI thread.
+     */
+    private static boolean sCounterResolved;
+    private static Method sSetCounter;
+    private static Method sTraceCounter;
+    private static final Object[] sSetCounterArgs = new Object[2];
+    private static final Object[] sTraceCounterArgs = {TRACE_TAG_VIEW, null, null};
+
+    /**
+     * A trace counter which is only emitted when its value changes, at most once per the given interval.
+     * Emitting a counter goes through reflection and boxes the value, so the frequently changing counters
+     * should be rate limited. A value set too early is kept pending, and emitted by the next {@link #set(long)}
+     * after the interval, or by {@link #flush()}.
+     */
+    static final class Counter {
+
+        private final String mName;
+        private final long mMinIntervalNanos;
+
+        private boolean mEmitted;
+        private long mEmittedValue;
+        private long mEmitTime;
+
+        private boolean mPending;
+        private long mPendingValue;
+
+        Counter(String name, long minIntervalMillis) {
+            mName = name;
+            mMinIntervalNanos = minIntervalMillis * 1000000L;
+        }
+
+        void set(long value) {
+            if (mEmitted && value == mEmittedValue) {
+                mPending = false;
+                return;
+            }
+            mPending = true;
+            mPendingValue = value;
+
+            final long now = System.nanoTime();
+            if (!mEmitted || now - mEmitTime >= mMinIntervalNanos) {
+                emit(now);
+            }
+        }
+
+        /**
+         * Emit the pending value regardless of the interval.
+         */
+        void flush() {
+            if (mPending) {
+                emit(System.nanoTime());
+            }
+        }
+
+        private void emit(long now) {
+            mPending = false;
+            mEmitted = true;
+            mEmittedValue = mPendingValue;
+            mEmitTime = now;
+            counter(mName, mPendingValue);
+        }
+    }
+
+    private PickerTrace() {
+    }
+
+    static void begin(String sectionName) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.beginSection(sectionName);
+        }
+    }
+
+    static void end() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            Trace.endSection();
+        }
+    }
+
+    static void counter(String counterName, long value) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            return;
+        }
+        if (!sCounterResolved) {
+            resolveCounter();
+        }
+        try {
+            if (sSetCounter != null) {
+                sSetCounterArgs[0] = counterName;
+                sSetCounterArgs[1] = value;
+                sSetCounter.invoke(null, sSetCounterArgs);
+            } else if (sTraceCounter != null) {
+                sTraceCounterArgs[1] = counterName;
+                sTraceCounterArgs[2] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, value));
+                sTraceCounter.invoke(null, sTraceCounterArgs);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Disabling trace counters", e);
+            sSetCounter = null;
+            sTraceCounter = null;
+        }
+    }
+
+    private static void resolveCounter() {
+        sCounterResolved = true;
+        try {
+            sSetCounter = Trace.class.getMethod("setCounter", String.class, long.class);
+        } catch (NoSuchMethodException e) {
+            try {
+                sTraceCounter = Trace.class.getMethod("traceCounter", long.class, String.class, int.class);
+            } catch (NoSuchMethodException e2) {
+                Log.w(TAG, "Trace counters are not available", e2);
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package hu.bugadani.circlepickerlib;
+
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import hu.bugadani.circlepickerlib.CirclePickerView.OnValueChangeListener;
+
+/**
+ * Delivers value changes to an {@link OnValueChangeListener} on an {@code Executor}.
+ * <p/>
+ * At most one delivery task is submitted at a time. Changes made while the listener is busy are conflated:
+ * only the latest {@code onValueChanging} value is delivered, and {@code onValueChanged} replaces any pending
+ * {@code onValueChanging} value, so it is always the last callback of a drag. The {@code onValueChanged} values
+ * are never conflated, each drag which ended before the listener got to it is still reported, in order. The lock only guards the pending
+ * values, the listener is never called while holding it. A rejected task or a throwing listener doesn't stop
+ * the later deliveries.
+ */
+final class ValueChangeDispatcher implements Runnable {
+
+    private static final String TAG = "ValueChangeDispatcher";
+
+    private final CirclePickerView mPickerView;
+    private final OnValueChangeListener mListener;
+    private final Executor mExecutor;
+
+    private final Object mLock = new Object();
+
+    /**
+     * Values waiting to be delivered, guarded by {@code mLock}.
+     */
+    private boolean mChangingPending;
+    private double mChangingValue;
+    private double[] mChangedValues = new double[1];
+    private int mChangedCount;
+
+    /**
+     * {@code true} while a delivery task is submitted or running, guarded by {@code mLock}.
+     */
+    private boolean mScheduled;
+
+    public ValueChangeDispatcher(CirclePickerView pickerView, OnValueChangeListener listener, Executor executor) {
+        mPickerView = pickerView;
+        mListener = listener;
+        mExecutor = executor;
+    }
+
+    public void dispatchValueChanging(double value) {
+        synchronized (mLock) {
+            mChangingValue = value;
+            mChangingPending = true;
+            if (mScheduled) {
+                return;
+            }
+            mScheduled = true;
+        }
+        schedule();
+    }
+
+    public void dispatchValueChanged(double value) {
+        synchronized (mLock) {
+            mChangingPending = false;
+            if (mChangedCount == mChangedValues.length) {
+                mChangedValues = Arrays.copyOf(mChangedValues, mChangedCount * 2);
+            }
+            mChangedValues[mChangedCount++] = value;
+            if (mScheduled) {
+                return;
+            }
+            mScheduled = true;
+        }
+        schedule();
+    }
+
+    /**
+     * Submits the delivery task. If the executor rejects it, the rejection is logged instead of being thrown
+     * into the touch handling, the pending values are kept and the next change submits the task again.
+     */
+    private void schedule() {
+        try {
+            mExecutor.execute(this);
+        } catch (RejectedExecutionException e) {
+            synchronized (mLock) {
+                mScheduled = false;
+            }
+            Log.w(TAG, "The executor rejected the value change delivery, retrying with the next change", e);
+        }
+    }
+
+    /**
+     * Drops the values which are not delivered yet.
+     */
+    public void cancel() {
+        synchronized (mLock) {
+            mChangingPending = false;
+            mChangedCount = 0;
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            final boolean changed;
+            final double value;
+            synchronized (mLock) {
+                //A pending onValueChanging is newer than the pending onValueChanged values, as they clear it
+                if (mChangedCount > 0) {
+                    changed = true;
+                    value = mChangedValues[0];
+                    mChangedCount--;
+                    System.arraycopy(mChangedValues, 1, mChangedValues, 0, mChangedCount);
+                } else if (mChangingPending) {
+                    changed = false;
+                    value = mChangingValue;
+                    mChangingPending = false;
+                } else {
+                    mScheduled = false;
+                    return;
+                }
+            }
+
+            //If the listener throws, the next change submits a new task for the values still pending
+            boolean delivered = false;
+            try {
+                if (changed) {
+                    mListener.onValueChanged(mPickerView, value);
+                } else {
+                    mListener.onValueChanging(mPickerView, value);
+                }
+                delivered = true;
+            } finally {
+                if (!delivered) {
+                    synchronized (mLock) {
+                        mScheduled = false;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package hu.bugadani.circlepickerlib;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import hu.bugadani.circlepickerlib.formatter.BufferedValueFormatter;
+import hu.bugadani.circlepickerlib.formatter.ValueFormatter;
+
+/**
+ * Bounded least recently used cache of formatted and measured value texts, keyed by step index.
+ * <p/>
+ * Texts are stored in reused {@code char} buffers. Together with a {@link BufferedValueFormatter} this means
+ * formatting doesn't allocate once the buffers are large enough.
+ * <p/>
+ * The cache is emptied when it is used with a different {@code Paint} or {@code ValueFormatter} instance.
+ */
+final class ValueTextCache {
+
+    private static final int INITIAL_TEXT_CAPACITY = 16;
+
+    static final class Entry {
+
+        private long mStepIndex;
+        private double mValue;
+        private long mLastUse;
+
+        /**
+         * The formatted value is stored in the first {@code mLength} characters
+         */
+        char[] mChars = new char[INITIAL_TEXT_CAPACITY];
+        int mLength;
+
+        /**
+         * Bounding box of the text, as returned by {@link Paint#getTextBounds(char[], int, int, Rect)}
+         */
+        final Rect mBounds = new Rect();
+
+        /**
+         * Width of the text, as returned by {@link Paint#measureText(char[], int, int)}
+         */
+        float mWidth;
+    }
+
+    private final Entry[] mEntries;
+    private final StringBuilder mBuilder = new StringBuilder(INITIAL_TEXT_CAPACITY);
+
+    private Paint mPaint;
+    private ValueFormatter mFormatter;
+    private int mSize;
+    private long mUseCounter;
+
+    /**
+     * Number of lookups which found or didn't find the text in the cache
+     */
+    private long mHits;
+    private long mMisses;
+
+    public ValueTextCache(int capacity) {
+        mEntries = new Entry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            mEntries[i] = new Entry();
+        }
+    }
+
+    /**
+     * Returns the text for the given value, formatting and measuring it if needed.
+     *
+     * @param paint     The paint the text is drawn with
+     * @param formatter The formatter to format the value with
+     * @param stepIndex The index of the step the value belongs to
+     * @param value     The value
+     */
+    public Entry get(Paint paint, ValueFormatter formatter, long stepIndex, double value) {
+        if (paint != mPaint || formatter != mFormatter) {
+            mPaint = paint;
+            mFormatter = formatter;
+            invalidate();
+        }
+
+        Entry leastRecentlyUsed = null;
+        for (int i = 0; i < mSize; i++) {
+            final Entry entry = mEntries[i];
+            //The value is compared too, as the limits don't need to be on a step
+            if (entry.mStepIndex == stepIndex && entry.mValue == value) {
+                entry.mLastUse = ++mUseCounter;
+                mHits++;
+                return entry;
+            }
+            if (leastRecentlyUsed == null || entry.mLastUse < leastRecentlyUsed.mLastUse) {
+                leastRecentlyUsed = entry;
+            }
+        }
+
+        mMisses++;
+        final Entry entry;
+        if (mSize < mEntries.length) {
+            entry = mEntries[mSize++];
+        } else {
+            entry = leastRecentlyUsed;
+        }
+
+        entry.mStepIndex = stepIndex;
+        entry.mValue = value;
+        entry.mLastUse = ++mUseCounter;
+
+        mBuilder.setLength(0);
+        if (formatter instanceof BufferedValueFormatter) {
+            ((BufferedValueFormatter) formatter).formatTo(value, mBuilder);
+        } else {
+            mBuilder.append(formatter.format(value));
+        }
+
+        entry.mLength = mBuilder.length();
+        if (entry.mChars.length < entry.mLength) {
+            entry.mChars = new char[entry.mLength];
+        }
+        mBuilder.getChars(0, entry.mLength, entry.mChars, 0);
+        paint.getTextBounds(entry.mChars, 0, entry.mLength, entry.mBounds);
+        entry.mWidth = paint.measureText(entry.mChars, 0, entry.mLength);
+
+        return entry;
+    }
+
+    public long getHitCount() {
+        return mHits;
+    }
+
+    public long getMissCount() {
+        return mMisses;
+    }
+
+    /**
+     * Removes every cached text.
+     */
+    public void invalidate() {
+        mSize = 0;
+    }
+}
@@ -0,0 +1,60 @@
+package hu.bugadani.circlepickerlib;
+
+import android.graphics.Color;
+import android.util.AttributeSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.fakes.RoboAttributeSet;
+import org.robolectric.res.Attribute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class CirclePickerStyleTest
+{
+
+    private static final String PACKAGE = "hu.bugadani.circlepickerlib";
+
+    @Test
+    public void equalStylesAreInterned()
+    {
+        final CirclePickerStyle style = new CirclePickerStyle.Builder()
+                .setWheelColor(Color.RED)
+                .setValueTextStyle(Color.WHITE, 40)
+                .build();
+        final CirclePickerStyle same = new CirclePickerStyle.Builder()
+                .setWheelColor(Color.RED)
+                .setValueTextStyle(Color.WHITE, 40)
+                .build();
+        final CirclePickerStyle other = new CirclePickerStyle.Builder(style)
+                .setWheelColor(Color.BLUE)
+                .build();
+
+        assertSame(style, same);
+        assertSame(style.getTextPaint(), same.getTextPaint());
+        assertNotSame(style, other);
+        assertEquals(Color.BLUE, other.getWheelColorPaint().getColor());
+        assertEquals(40, other.getTextPaint().getTextSize(), 0);
+    }
+
+    @Test
+    public void pickersWithSameAttributesSharePaints()
+    {
+        final AttributeSet attrs = RoboAttributeSet.create(
+                RuntimeEnvironment.application,
+                new Attribute(PACKAGE + ":attr/cycleValue", "100", PACKAGE),
+                new Attribute(PACKAGE + ":attr/step", "1", PACKAGE)
+        );
+        final CirclePickerView first = new CirclePickerView(RuntimeEnvironment.application, attrs);
+        final CirclePickerView second = new CirclePickerView(RuntimeEnvironment.application, attrs);
+
+        assertSame(first.getStyle(), second.getStyle());
+    }
+}
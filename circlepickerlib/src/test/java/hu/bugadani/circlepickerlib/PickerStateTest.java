@@ -0,0 +1,83 @@
+package hu.bugadani.circlepickerlib;
+
+import android.util.AttributeSet;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.fakes.RoboAttributeSet;
+import org.robolectric.res.Attribute;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PickerStateTest
+{
+
+    private static final String PACKAGE = "hu.bugadani.circlepickerlib";
+
+    @Test
+    public void snapshotReturnsBoundState()
+    {
+        final CirclePickerView view = createPicker(0);
+
+        final PickerState state = new PickerState.Builder()
+                .setLimits(-180, 180)
+                .setStep(15)
+                .setWheelRotation(90)
+                .setValue(-45)
+                .setLabel("Rotation")
+                .build();
+        view.bind(state);
+
+        assertEquals(state, view.snapshot());
+        assertEquals(-45, view.getValue(), 0);
+
+        final PickerState clamped = new PickerState.Builder(state).setValue(1000).build();
+        view.bind(clamped);
+
+        assertEquals(clamped.withValue(180), view.snapshot());
+    }
+
+    @Test
+    public void editorAppliesChangesTogether()
+    {
+        final CirclePickerView view = createPicker(30);
+
+        //Clearing the cycle value before the limits are set would throw with the setters
+        view.edit().cycle(0).min(0).max(50).step(5).rotation(180).apply();
+
+        final PickerState state = view.snapshot();
+        assertEquals(0, state.getMinValue(), 0);
+        assertEquals(50, state.getMaxValue(), 0);
+        assertEquals(5, state.getStep(), 0);
+        assertEquals(180, state.getWheelRotation());
+        assertEquals(30, state.getValue(), 0);
+
+        try {
+            view.edit().min(-Float.MAX_VALUE).max(Float.MAX_VALUE).apply();
+            fail();
+        } catch (IllegalStateException e) {
+            //Expected
+        }
+        assertEquals(state, view.snapshot());
+    }
+
+    /**
+     * Creates a picker with a cycle value of 100, the picker needs either limits or a cycle value
+     */
+    private static CirclePickerView createPicker(int value)
+    {
+        final AttributeSet attrs = RoboAttributeSet.create(
+                RuntimeEnvironment.application,
+                new Attribute(PACKAGE + ":attr/cycleValue", "100", PACKAGE),
+                new Attribute(PACKAGE + ":attr/step", "1", PACKAGE),
+                new Attribute(PACKAGE + ":attr/value", Integer.toString(value), PACKAGE)
+        );
+        return new CirclePickerView(RuntimeEnvironment.application, attrs);
+    }
+}
@@ -0,0 +1,336 @@
+package hu.bugadani.circlepickerlib;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * A {@code Canvas} which only counts the draw operations instead of drawing them.
+ * <p/>
+ * Every public {@code draw*} method is overridden and counted, so a draw call can't reach the shadow of
+ * the canvas uncounted. The overridden methods don't call the framework, so the shadow doesn't add its
+ * own bookkeeping to the measured allocations either.
+ */
+class RecordingCanvas extends Canvas
+{
+
+    private int mDrawOps;
+    private int mSaveCount = 1;
+
+    /**
+     * Returns the number of draw operations since the last {@link #reset()}
+     */
+    public int getDrawOps()
+    {
+        return mDrawOps;
+    }
+
+    public void reset()
+    {
+        mDrawOps = 0;
+        mSaveCount = 1;
+    }
+
+    @Override
+    public int save()
+    {
+        return mSaveCount++;
+    }
+
+    @Override
+    public void restore()
+    {
+        if (mSaveCount <= 1) {
+            throw new IllegalStateException("Underflow in restore");
+        }
+        mSaveCount--;
+    }
+
+    @Override
+    public int getSaveCount()
+    {
+        return mSaveCount;
+    }
+
+    @Override
+    public void translate(float dx, float dy)
+    {
+    }
+
+    @Override
+    public void rotate(float degrees)
+    {
+    }
+
+    @Override
+    public void drawARGB(int a, int r, int g, int b)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawRGB(int r, int g, int b)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawColor(int color)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawColor(int color, PorterDuff.Mode mode)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPaint(Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPath(Path path, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPoint(float x, float y, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPoints(float[] pts, int offset, int count, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPoints(float[] pts, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawLines(float[] pts, int offset, int count, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawLines(float[] pts, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawArc(RectF oval, float startAngle, float sweepAngle, boolean useCenter, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawArc(float left, float top, float right, float bottom, float startAngle, float sweepAngle, boolean useCenter,
+                        Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawOval(RectF oval, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawOval(float left, float top, float right, float bottom, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawRect(RectF rect, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawRect(Rect r, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawRect(float left, float top, float right, float bottom, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawRoundRect(RectF rect, float rx, float ry, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawRoundRect(float left, float top, float right, float bottom, float rx, float ry, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawText(String text, int start, int end, float x, float y, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawTextRun(char[] text, int index, int count, int contextIndex, int contextCount, float x, float y,
+                            boolean isRtl, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawTextRun(CharSequence text, int start, int end, int contextStart, int contextEnd, float x, float y,
+                            boolean isRtl, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPosText(char[] text, int index, int count, float[] pos, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPosText(String text, float[] pos, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawTextOnPath(char[] text, int index, int count, Path path, float hOffset, float vOffset, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawTextOnPath(String text, Path path, float hOffset, float vOffset, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, RectF dst, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Rect src, Rect dst, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, Matrix matrix, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawBitmap(int[] colors, int offset, int stride, float x, float y, int width, int height, boolean hasAlpha,
+                           Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawBitmap(int[] colors, int offset, int stride, int x, int y, int width, int height, boolean hasAlpha,
+                           Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawBitmapMesh(Bitmap bitmap, int meshWidth, int meshHeight, float[] verts, int vertOffset, int[] colors,
+                               int colorOffset, Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawVertices(Canvas.VertexMode mode, int vertexCount, float[] verts, int vertOffset, float[] texs,
+                             int texOffset, int[] colors, int colorOffset, short[] indices, int indexOffset, int indexCount,
+                             Paint paint)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture, RectF dst)
+    {
+        mDrawOps++;
+    }
+
+    @Override
+    public void drawPicture(Picture picture, Rect dst)
+    {
+        mDrawOps++;
+    }
+}
@@ -0,0 +1,276 @@
+package hu.bugadani.circlepickerlib;
+
+import android.os.SystemClock;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.fakes.RoboAttributeSet;
+import org.robolectric.res.Attribute;
+
+import java.lang.management.ManagementFactory;
+
+import hu.bugadani.circlepickerlib.CirclePickerView.LabelPosition;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Drives {@link CirclePickerView} through measuring, drawing and dragging, checks the draw operations of
+ * each feature combination and the allocations of every frame against a budget.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21, shadows = ShadowNoOpPath.class)
+public class RenderBudgetTest
+{
+
+    private static final String PACKAGE = "hu.bugadani.circlepickerlib";
+
+    private static final int VIEW_SIZE = 400;
+
+    /**
+     * Number of move events in the drag gesture, each of them is followed by a frame
+     */
+    private static final int DRAG_FRAMES = 240;
+
+    /**
+     * The gesture turns the wheel this many times, forwards then back below zero
+     */
+    private static final double DRAG_TURNS = 1.5;
+
+    /**
+     * Divider intervals which make every divider level visible on a wheel of {@link #VIEW_SIZE}
+     */
+    private static final int MINOR_DIVIDER_INTERVAL = 5;
+    private static final int MAJOR_DIVIDER_INTERVAL = 10;
+
+    /**
+     * Bytes a frame may allocate on average. The frames measured at most 8 bytes under Robolectric 3.1 on
+     * JDK 8, which is the cost of reading the allocation counter spread over the gesture. The budget is twice
+     * that, so a single object created in every frame, which takes at least 16 bytes, goes over it.
+     */
+    private static final long FRAME_ALLOCATION_BUDGET = 16;
+
+    private static final class Scenario
+    {
+
+        final boolean mShowDivider;
+        final boolean mShowPointer;
+        final LabelPosition mLabelPosition;
+        final boolean mStaticLayerCache;
+
+        /**
+         * The draw operations of the frames with a nonzero value, the most any frame of the gesture uses
+         */
+        final int mDrawOps;
+
+        Scenario(boolean showDivider, boolean showPointer, LabelPosition labelPosition, boolean staticLayerCache,
+                 int drawOps)
+        {
+            mShowDivider = showDivider;
+            mShowPointer = showPointer;
+            mLabelPosition = labelPosition;
+            mStaticLayerCache = staticLayerCache;
+            mDrawOps = drawOps;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "showDivider=" + mShowDivider
+                    + ", showPointer=" + mShowPointer
+                    + ", labelPosition=" + mLabelPosition
+                    + ", staticLayerCache=" + mStaticLayerCache;
+        }
+    }
+
+    /**
+     * Two arcs and the value text are always drawn. The pointer adds two circles, the dividers one line
+     * batch for each of the three levels, the label a text. With the static layer cache the bitmap, which
+     * holds the wheel background and the label, replaces the background arc and the label.
+     */
+    private static final Scenario[] SCENARIOS = {
+            new Scenario(false, false, LabelPosition.None, false, 3),
+            new Scenario(false, false, LabelPosition.Above, false, 4),
+            new Scenario(false, false, LabelPosition.End, false, 4),
+            new Scenario(false, true, LabelPosition.None, false, 5),
+            new Scenario(false, true, LabelPosition.Above, false, 6),
+            new Scenario(false, true, LabelPosition.End, false, 6),
+            new Scenario(true, false, LabelPosition.None, false, 6),
+            new Scenario(true, false, LabelPosition.Above, false, 7),
+            new Scenario(true, false, LabelPosition.End, false, 7),
+            new Scenario(true, true, LabelPosition.None, false, 8),
+            new Scenario(true, true, LabelPosition.Above, false, 9),
+            new Scenario(true, true, LabelPosition.End, false, 9),
+            new Scenario(false, false, LabelPosition.None, true, 3),
+            new Scenario(false, false, LabelPosition.Above, true, 3),
+            new Scenario(true, true, LabelPosition.None, true, 8),
+            new Scenario(true, true, LabelPosition.Above, true, 8),
+    };
+
+    private final RecordingCanvas mCanvas = new RecordingCanvas();
+    private final MotionEvent[] mGesture = new MotionEvent[DRAG_FRAMES + 2];
+
+    @Before
+    public void setUp()
+    {
+        final float center = VIEW_SIZE / 2;
+        final float radius = VIEW_SIZE * 0.4f;
+        final long downTime = SystemClock.uptimeMillis();
+
+        for (int i = 0; i < mGesture.length; i++) {
+            final int action;
+            if (i == 0) {
+                action = MotionEvent.ACTION_DOWN;
+            } else if (i == mGesture.length - 1) {
+                action = MotionEvent.ACTION_UP;
+            } else {
+                action = MotionEvent.ACTION_MOVE;
+            }
+
+            //Forwards during the first half of the gesture, then back to the starting point and beyond
+            final double progress = (double) i / (mGesture.length - 1);
+            final double turns = progress < 0.5
+                    ? progress * 2 * DRAG_TURNS
+                    : (1 - progress) * 4 * DRAG_TURNS - DRAG_TURNS;
+            final double angle = turns * 2 * Math.PI;
+
+            mGesture[i] = MotionEvent.obtain(
+                    downTime,
+                    downTime + i * 16,
+                    action,
+                    (float) (center + radius * Math.sin(angle)),
+                    (float) (center - radius * Math.cos(angle)),
+                    0
+            );
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        for (MotionEvent event : mGesture) {
+            event.recycle();
+        }
+    }
+
+    @Test
+    public void drawOpsMatchFeatures()
+    {
+        final StringBuilder failures = new StringBuilder();
+        for (Scenario scenario : SCENARIOS) {
+            final CirclePickerView view = createView(scenario);
+
+            int maxDrawOps = 0;
+            for (MotionEvent event : mGesture) {
+                view.onTouchEvent(event);
+
+                mCanvas.reset();
+                view.onDraw(mCanvas);
+                maxDrawOps = Math.max(maxDrawOps, mCanvas.getDrawOps());
+            }
+
+            if (maxDrawOps != scenario.mDrawOps) {
+                failures.append('\n')
+                        .append(scenario)
+                        .append(": ")
+                        .append(maxDrawOps)
+                        .append(" draw ops per frame, expected ")
+                        .append(scenario.mDrawOps);
+            }
+        }
+        if (failures.length() > 0) {
+            fail("Unexpected draw ops:" + failures);
+        }
+    }
+
+    @Test
+    public void allocationsWithinBudget()
+    {
+        final java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        //The budget must not be skipped silently, run the tests on a JVM which counts the allocations
+        assertTrue("The JVM can't count the allocations of a thread",
+                threadBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assertTrue("The JVM can't count the allocations of a thread",
+                allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        final long threadId = Thread.currentThread().getId();
+        final StringBuilder failures = new StringBuilder();
+        for (Scenario scenario : SCENARIOS) {
+            final CirclePickerView view = createView(scenario);
+
+            //The first gesture fills the caches and lets the lazily created objects be created
+            drag(view);
+
+            final long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+            drag(view);
+            final long allocatedAfter = allocationBean.getThreadAllocatedBytes(threadId);
+
+            final long bytesPerFrame = (allocatedAfter - allocatedBefore) / mGesture.length;
+            if (bytesPerFrame > FRAME_ALLOCATION_BUDGET) {
+                failures.append('\n')
+                        .append(scenario)
+                        .append(": ")
+                        .append(bytesPerFrame)
+                        .append(" bytes per frame, budget is ")
+                        .append(FRAME_ALLOCATION_BUDGET);
+            }
+        }
+        if (failures.length() > 0) {
+            fail("Allocation budget exceeded:" + failures);
+        }
+    }
+
+    @Test
+    public void everyScenarioDraws()
+    {
+        for (Scenario scenario : SCENARIOS) {
+            final CirclePickerView view = createView(scenario);
+
+            mCanvas.reset();
+            view.onDraw(mCanvas);
+            assertTrue(scenario.toString(), mCanvas.getDrawOps() > 0);
+        }
+    }
+
+    private void drag(CirclePickerView view)
+    {
+        for (MotionEvent event : mGesture) {
+            view.onTouchEvent(event);
+
+            mCanvas.reset();
+            view.onDraw(mCanvas);
+        }
+    }
+
+    private CirclePickerView createView(Scenario scenario)
+    {
+        //The picker needs either limits or a cycle value
+        final AttributeSet attrs = RoboAttributeSet.create(
+                RuntimeEnvironment.application,
+                new Attribute(PACKAGE + ":attr/cycleValue", "100", PACKAGE),
+                new Attribute(PACKAGE + ":attr/step", "1", PACKAGE)
+        );
+        final CirclePickerView view = new CirclePickerView(RuntimeEnvironment.application, attrs);
+        view.setShowDivider(scenario.mShowDivider);
+        view.setDividerIntervals(MINOR_DIVIDER_INTERVAL, MAJOR_DIVIDER_INTERVAL);
+        view.setShowPointer(scenario.mShowPointer);
+        view.setLabelPosition(scenario.mLabelPosition);
+        view.setStaticLayerCacheEnabled(scenario.mStaticLayerCache);
+
+        final int measureSpec = View.MeasureSpec.makeMeasureSpec(VIEW_SIZE, View.MeasureSpec.EXACTLY);
+        view.measure(measureSpec, measureSpec);
+        view.layout(0, 0, VIEW_SIZE, VIEW_SIZE);
+
+        return view;
+    }
+}
@@ -0,0 +1,50 @@
+package hu.bugadani.circlepickerlib;
+
+import android.graphics.Path;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowPath;
+
+/**
+ * Replaces the default {@code Path} shadow, which records every point into a list. The arcs are rebuilt
+ * in every frame, so that bookkeeping would be measured as allocations of the view. It extends the
+ * default shadow, because the shadow of a real {@code Canvas} casts the shadow of the drawn path to it.
+ */
+@Implements(Path.class)
+public class ShadowNoOpPath extends ShadowPath
+{
+
+    @Override
+    @Implementation
+    public void reset()
+    {
+    }
+
+    @Implementation
+    public void rewind()
+    {
+    }
+
+    @Override
+    @Implementation
+    public void moveTo(float x, float y)
+    {
+    }
+
+    @Override
+    @Implementation
+    public void lineTo(float x, float y)
+    {
+    }
+
+    @Implementation
+    public void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3)
+    {
+    }
+
+    @Implementation
+    public void close()
+    {
+    }
+}
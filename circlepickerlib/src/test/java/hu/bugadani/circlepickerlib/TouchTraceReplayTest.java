@@ -0,0 +1,173 @@
+package hu.bugadani.circlepickerlib;
+
+import android.os.SystemClock;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+import org.robolectric.fakes.RoboAttributeSet;
+import org.robolectric.res.Attribute;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import hu.bugadani.circlepickerlib.core.PickerEngine;
+import hu.bugadani.circlepickerlib.trace.TouchTrace;
+import hu.bugadani.circlepickerlib.trace.TouchTraceReplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Records a drag on the view, then replays the trace through the touch handling of another view and
+ * through a {@link TouchTraceReplayer}, which must produce the same values.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class TouchTraceReplayTest
+{
+
+    private static final String PACKAGE = "hu.bugadani.circlepickerlib";
+
+    private static final int VIEW_SIZE = 400;
+    private static final float CENTER = VIEW_SIZE / 2;
+
+    private static final class RecordingListener implements CirclePickerView.OnValueChangeListener
+    {
+
+        final List<Double> mValues = new ArrayList<Double>();
+        int mInvocations;
+
+        @Override
+        public void onValueChanging(CirclePickerView pickerView, double value)
+        {
+            mValues.add(value);
+            mInvocations++;
+        }
+
+        @Override
+        public void onValueChanged(CirclePickerView pickerView, double value)
+        {
+            mInvocations++;
+        }
+    }
+
+    @Test
+    public void replayProducesRecordedValues() throws IOException
+    {
+        final TouchTrace.Recorder recorder = new TouchTrace.Recorder();
+        final CirclePickerView recorded = createView();
+        final RecordingListener recordedListener = new RecordingListener();
+        recorded.setOnValueChangeListener(recordedListener);
+        recorded.setTouchTraceRecorder(recorder);
+        drag(recorded);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        recorder.toTrace().writeTo(out);
+        final TouchTrace trace = TouchTrace.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        //Through the view
+        final CirclePickerView replayed = createView();
+        final RecordingListener replayedListener = new RecordingListener();
+        replayed.setOnValueChangeListener(replayedListener);
+        replay(replayed, trace);
+
+        assertEquals(recordedListener.mValues, replayedListener.mValues);
+        assertEquals(recordedListener.mInvocations, replayedListener.mInvocations);
+
+        //Without the view
+        final TouchTraceReplayer replayer = new TouchTraceReplayer();
+        final PickerEngine engine = replayer.getEngine();
+        engine.setMinValue(-Float.MAX_VALUE);
+        engine.setMaxValue(Float.MAX_VALUE);
+        engine.setStep(1);
+        engine.setCycleValue(100);
+        final TouchTraceReplayer.Result result = replayer.replay(trace);
+
+        assertTrue(result.getValues().length > 0);
+        assertEquals(recordedListener.mValues.size(), result.getValues().length);
+        for (int i = 0; i < result.getValues().length; i++) {
+            assertEquals(recordedListener.mValues.get(i), result.getValues()[i], 0);
+        }
+        assertEquals(recordedListener.mInvocations, result.getListenerInvocations());
+    }
+
+    private static CirclePickerView createView()
+    {
+        final AttributeSet attrs = RoboAttributeSet.create(
+                RuntimeEnvironment.application,
+                new Attribute(PACKAGE + ":attr/cycleValue", "100", PACKAGE),
+                new Attribute(PACKAGE + ":attr/step", "1", PACKAGE)
+        );
+        final CirclePickerView view = new CirclePickerView(RuntimeEnvironment.application, attrs);
+        //The replayer updates the value on every event, the view must not wait for a frame to do the same
+        view.setDispatchMode(CirclePickerView.DispatchMode.PerEvent);
+
+        final int measureSpec = View.MeasureSpec.makeMeasureSpec(VIEW_SIZE, View.MeasureSpec.EXACTLY);
+        view.measure(measureSpec, measureSpec);
+        view.layout(0, 0, VIEW_SIZE, VIEW_SIZE);
+        return view;
+    }
+
+    /**
+     * Turns the wheel one and a half times forwards, then back below zero
+     */
+    private static void drag(CirclePickerView view)
+    {
+        final int events = 200;
+        final float radius = VIEW_SIZE * 0.4f;
+        final long downTime = SystemClock.uptimeMillis();
+        for (int i = 0; i < events; i++) {
+            final int action;
+            if (i == 0) {
+                action = MotionEvent.ACTION_DOWN;
+            } else if (i == events - 1) {
+                action = MotionEvent.ACTION_UP;
+            } else {
+                action = MotionEvent.ACTION_MOVE;
+            }
+            final double progress = (double) i / (events - 1);
+            final double turns = progress < 0.5 ? progress * 3 : (1 - progress) * 6 - 1.5;
+            final double angle = turns * 2 * Math.PI;
+
+            dispatch(
+                    view,
+                    downTime,
+                    downTime + i * 16,
+                    action,
+                    (float) (CENTER + radius * Math.sin(angle)),
+                    (float) (CENTER - radius * Math.cos(angle))
+            );
+        }
+    }
+
+    private static void replay(CirclePickerView view, TouchTrace trace)
+    {
+        final long downTime = SystemClock.uptimeMillis();
+        for (int i = 0; i < trace.size(); i++) {
+            dispatch(
+                    view,
+                    downTime,
+                    downTime + trace.getTime(i),
+                    trace.getAction(i),
+                    CENTER + trace.getX(i),
+                    CENTER + trace.getY(i)
+            );
+        }
+    }
+
+    private static void dispatch(CirclePickerView view, long downTime, long eventTime, int action, float x, float y)
+    {
+        final MotionEvent event = MotionEvent.obtain(downTime, eventTime, action, x, y, 0);
+        view.onTouchEvent(event);
+        event.recycle();
+    }
+}
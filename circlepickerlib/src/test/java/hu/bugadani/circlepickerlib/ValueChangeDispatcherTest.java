@@ -0,0 +1,140 @@
+package hu.bugadani.circlepickerlib;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ValueChangeDispatcherTest
+{
+
+    /**
+     * Runs the tasks when asked to, or rejects them
+     */
+    private static final class ManualExecutor implements Executor
+    {
+
+        final List<Runnable> mTasks = new ArrayList<Runnable>();
+        boolean mRejecting;
+
+        @Override
+        public void execute(Runnable command)
+        {
+            if (mRejecting) {
+                throw new RejectedExecutionException();
+            }
+            mTasks.add(command);
+        }
+
+        void runAll()
+        {
+            while (!mTasks.isEmpty()) {
+                mTasks.remove(0).run();
+            }
+        }
+    }
+
+    private static final class RecordingListener implements CirclePickerView.OnValueChangeListener
+    {
+
+        final List<Double> mValues = new ArrayList<Double>();
+        boolean mThrowing;
+
+        @Override
+        public void onValueChanging(CirclePickerView pickerView, double value)
+        {
+            record(value);
+        }
+
+        @Override
+        public void onValueChanged(CirclePickerView pickerView, double value)
+        {
+            record(value);
+        }
+
+        private void record(double value)
+        {
+            mValues.add(value);
+            if (mThrowing) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    @Test
+    public void rejectedTaskIsRetriedWithPendingValue()
+    {
+        final ManualExecutor executor = new ManualExecutor();
+        final RecordingListener listener = new RecordingListener();
+        final ValueChangeDispatcher dispatcher = new ValueChangeDispatcher(null, listener, executor);
+
+        //The rejection must not reach the touch handling
+        executor.mRejecting = true;
+        dispatcher.dispatchValueChanged(1);
+        assertEquals(0, executor.mTasks.size());
+
+        //The pending value is delivered by the next task
+        executor.mRejecting = false;
+        dispatcher.dispatchValueChanging(2);
+        executor.runAll();
+
+        assertEquals(2, listener.mValues.size());
+        assertEquals(1, listener.mValues.get(0), 0);
+        assertEquals(2, listener.mValues.get(1), 0);
+    }
+
+    @Test
+    public void everyGestureEndIsDelivered()
+    {
+        final ManualExecutor executor = new ManualExecutor();
+        final RecordingListener listener = new RecordingListener();
+        final ValueChangeDispatcher dispatcher = new ValueChangeDispatcher(null, listener, executor);
+
+        //Two drags end before the executor runs the delivery
+        dispatcher.dispatchValueChanging(1);
+        dispatcher.dispatchValueChanged(2);
+        dispatcher.dispatchValueChanging(3);
+        dispatcher.dispatchValueChanged(4);
+        dispatcher.dispatchValueChanging(5);
+        executor.runAll();
+
+        assertEquals(3, listener.mValues.size());
+        assertEquals(2, listener.mValues.get(0), 0);
+        assertEquals(4, listener.mValues.get(1), 0);
+        assertEquals(5, listener.mValues.get(2), 0);
+    }
+
+    @Test
+    public void throwingListenerDoesNotStopDeliveries()
+    {
+        final ManualExecutor executor = new ManualExecutor();
+        final RecordingListener listener = new RecordingListener();
+        final ValueChangeDispatcher dispatcher = new ValueChangeDispatcher(null, listener, executor);
+
+        listener.mThrowing = true;
+        dispatcher.dispatchValueChanging(1);
+        try {
+            executor.runAll();
+            fail();
+        } catch (IllegalStateException e) {
+            //Expected
+        }
+
+        listener.mThrowing = false;
+        dispatcher.dispatchValueChanged(2);
+        executor.runAll();
+
+        assertEquals(2, listener.mValues.size());
+        assertEquals(2, listener.mValues.get(1), 0);
+    }
+}